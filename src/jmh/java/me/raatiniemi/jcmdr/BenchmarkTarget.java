@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr;
+
+import me.raatiniemi.jcmdr.scheme.annotation.Argument;
+
+/**
+ * Target with an argument scheme used by the benchmarks.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class BenchmarkTarget {
+    private int flags;
+    private String file;
+    private String name;
+
+    @Argument(shortName = "d", longName = "debug")
+    public void debug() {
+        flags++;
+    }
+
+    @Argument(shortName = "v", longName = "verbose")
+    public void verbose() {
+        flags++;
+    }
+
+    @Argument(shortName = "q", longName = "quiet")
+    public void quiet() {
+        flags++;
+    }
+
+    @Argument(shortName = "f", longName = "file")
+    public void file(String file) {
+        this.file = file;
+    }
+
+    @Argument(longName = "name")
+    public void name(String name) {
+        this.name = name;
+    }
+
+    public int getFlags() {
+        return flags;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr;
+
+import me.raatiniemi.jcmdr.argument.BatchResult;
+import me.raatiniemi.jcmdr.argument.ParseContext;
+import me.raatiniemi.jcmdr.argument.ParseResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+
+/**
+ * Measure processing of the arguments from end to end, i.e. scheme lookup,
+ * parsing and invocation of the argument methods.
+ */
+@State(Scope.Benchmark)
+public class CommandLineBenchmark {
+    private final String[] arguments = {
+            "-dv",
+            "--quiet",
+            "-Dfile=configuration.json",
+            "--name='benchmark'"
+    };
+    private final CommandLine<BenchmarkTarget> commandLine = CommandLine.compile(BenchmarkTarget.class);
+    private final ParseResult parseResult = commandLine.parse(arguments);
+    private final String[][] rows = new String[10_000][];
+
+    {
+        Arrays.fill(rows, arguments);
+    }
+
+    @Benchmark
+    public BenchmarkTarget process() {
+        BenchmarkTarget target = new BenchmarkTarget();
+        CommandLine.process(target, arguments);
+
+        return target;
+    }
+
+    @Benchmark
+    public BenchmarkTarget processWithoutArguments() {
+        BenchmarkTarget target = new BenchmarkTarget();
+        CommandLine.process(target);
+
+        return target;
+    }
+
+    @Benchmark
+    public BenchmarkTarget applyParseResult() {
+        BenchmarkTarget target = new BenchmarkTarget();
+        parseResult.applyTo(target);
+
+        return target;
+    }
+
+    @Benchmark
+    public BenchmarkTarget applyWithParseContext() {
+        BenchmarkTarget target = new BenchmarkTarget();
+        commandLine.apply(target, ParseContext.forCurrentThread(), arguments);
+
+        return target;
+    }
+
+    @Benchmark
+    public long processRowsInParallel() {
+        return Arrays.stream(rows)
+                .parallel()
+                .map(row -> {
+                    BenchmarkTarget target = new BenchmarkTarget();
+                    CommandLine.process(target, row);
+
+                    return target;
+                })
+                .count();
+    }
+
+    @Benchmark
+    public long parseAllRows() {
+        return commandLine.parseAll(Arrays.stream(rows))
+                .filter(BatchResult::isSuccess)
+                .map(result -> {
+                    BenchmarkTarget target = new BenchmarkTarget();
+                    result.getParseResult().applyTo(target);
+
+                    return target;
+                })
+                .count();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.argument;
+
+import me.raatiniemi.jcmdr.BenchmarkTarget;
+import me.raatiniemi.jcmdr.scheme.Scheme;
+import me.raatiniemi.jcmdr.scheme.SchemeRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collection;
+
+/**
+ * Measure parsing of arguments against a compiled scheme.
+ */
+@State(Scope.Benchmark)
+public class ArgumentParserBenchmark {
+    @Param({"1", "10", "100", "1000", "10000"})
+    private int numberOfArguments;
+
+    @Param
+    private ArgumentStyle style;
+
+    private Scheme scheme;
+    private String[] arguments;
+
+    @Setup
+    public void setUp() {
+        scheme = SchemeRegistry.schemeFor(BenchmarkTarget.class);
+        arguments = style.build(numberOfArguments);
+    }
+
+    @Benchmark
+    public Collection<ParsedArgument> parse() {
+        ArgumentParser parser = new ArgumentParser(scheme, arguments);
+
+        return parser.parse();
+    }
+
+    @Benchmark
+    public int parseContext() {
+        ParseContext context = ParseContext.forCurrentThread();
+        context.parse(scheme, arguments);
+
+        return context.size();
+    }
+
+    public enum ArgumentStyle {
+        SHORT_CLUSTER("-dvq", "-dx", "-v"),
+        LONG_NAME("--debug", "--verbose", "--unknown"),
+        JAVA_OPTION("-Ddebug", "-Dfile=configuration.json", "-Dname=benchmark"),
+        QUOTED_VALUE("--file=\"configuration file.json\"", "--name='benchmark'", "-f=\"file\"");
+
+        private final String[] arguments;
+
+        ArgumentStyle(String... arguments) {
+            this.arguments = arguments;
+        }
+
+        String[] build(int numberOfArguments) {
+            String[] values = new String[numberOfArguments];
+            for (int i = 0; i < numberOfArguments; i++) {
+                values[i] = arguments[i % arguments.length];
+            }
+
+            return values;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.scheme;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Measure parsing of the argument scheme from classes with an increasing
+ * number of annotated methods.
+ */
+@State(Scope.Benchmark)
+public class ClassParserBenchmark {
+    @Param({"10", "100", "1000"})
+    private int numberOfMethods;
+
+    private Class<?> target;
+
+    @Setup
+    public void setUp() throws IOException, ClassNotFoundException {
+        target = TargetClassGenerator.generate(numberOfMethods);
+    }
+
+    @Benchmark
+    public List<SchemeArgument> parse() {
+        SchemeParser parser = new ClassParser(target);
+
+        return parser.parse();
+    }
+
+    @Benchmark
+    public Scheme schemeFor() {
+        return SchemeRegistry.schemeFor(target);
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.scheme;
+
+import me.raatiniemi.jcmdr.BenchmarkTarget;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measure invocation of the method associated with an argument scheme.
+ */
+@State(Scope.Benchmark)
+public class MethodSchemeArgumentBenchmark {
+    private final BenchmarkTarget target = new BenchmarkTarget();
+
+    private SchemeArgument withoutValue;
+    private SchemeArgument withValue;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        withoutValue = MethodSchemeArgument.builder()
+                .shortName("d")
+                .methodReference(BenchmarkTarget.class.getMethod("debug"))
+                .build();
+
+        withValue = MethodSchemeArgument.builder()
+                .shortName("f")
+                .methodReference(BenchmarkTarget.class.getMethod("file", String.class))
+                .build();
+    }
+
+    @Benchmark
+    public BenchmarkTarget callWithoutValue() {
+        withoutValue.call(target, null);
+
+        return target;
+    }
+
+    @Benchmark
+    public BenchmarkTarget callWithValue() {
+        withValue.call(target, "configuration.json");
+
+        return target;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.scheme;
+
+import me.raatiniemi.jcmdr.scheme.annotation.Argument;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Generate, and compile, target classes with a configurable number of
+ * annotated methods, since writing classes with a thousand methods by hand
+ * is not really an option.
+ *
+ * The system Java compiler is required, i.e. the benchmarks must run on a JDK.
+ */
+final class TargetClassGenerator {
+    private TargetClassGenerator() {
+    }
+
+    static Class<?> generate(int numberOfMethods) throws IOException, ClassNotFoundException {
+        String className = "GeneratedTarget" + numberOfMethods;
+        Path directory = Files.createTempDirectory("jcmdr-jmh");
+        Path source = directory.resolve(className + ".java");
+        Files.write(source, buildSource(className, numberOfMethods).getBytes(StandardCharsets.UTF_8));
+
+        compile(source);
+
+        URLClassLoader classLoader = new URLClassLoader(
+                new URL[]{directory.toUri().toURL()},
+                TargetClassGenerator.class.getClassLoader()
+        );
+        return classLoader.loadClass(className);
+    }
+
+    private static String buildSource(String className, int numberOfMethods) {
+        StringBuilder builder = new StringBuilder()
+                .append("public class ").append(className).append(" {\n");
+
+        for (int i = 0; i < numberOfMethods; i++) {
+            builder.append("    @").append(Argument.class.getName())
+                    .append("(longName = \"option-").append(i).append("\")\n")
+                    .append("    public void option").append(i).append("(String value) {\n")
+                    .append("    }\n");
+        }
+
+        return builder.append("}\n").toString();
+    }
+
+    private static void compile(Path source) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (isNull(compiler)) {
+            throw new IllegalStateException("Benchmark requires the system Java compiler");
+        }
+
+        int result = compiler.run(
+                null,
+                null,
+                null,
+                "-classpath",
+                System.getProperty("java.class.path"),
+                source.toString()
+        );
+        if (0 != result) {
+            throw new IllegalStateException("Unable to compile " + source);
+        }
+    }
+}
@@ -17,31 +17,81 @@
 package me.raatiniemi.jcmdr;
 
 import me.raatiniemi.jcmdr.argument.ArgumentParser;
+import me.raatiniemi.jcmdr.argument.ArgumentSource;
+import me.raatiniemi.jcmdr.argument.ArgumentSources;
+import me.raatiniemi.jcmdr.argument.BatchResult;
+import me.raatiniemi.jcmdr.argument.ParseCache;
+import me.raatiniemi.jcmdr.argument.ParseContext;
+import me.raatiniemi.jcmdr.argument.ParseResult;
 import me.raatiniemi.jcmdr.argument.ParsedArgument;
-import me.raatiniemi.jcmdr.scheme.SchemeArgument;
-import me.raatiniemi.jcmdr.scheme.SchemeParser;
-import me.raatiniemi.jcmdr.scheme.SchemeParserFactory;
+import me.raatiniemi.jcmdr.argument.ValidationResult;
+import me.raatiniemi.jcmdr.exception.InvalidArgumentValueException;
+import me.raatiniemi.jcmdr.listener.ParseListener;
+import me.raatiniemi.jcmdr.scheme.Scheme;
+import me.raatiniemi.jcmdr.scheme.SchemeRegistry;
+import me.raatiniemi.jcmdr.scheme.annotation.Argument;
 
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 /**
  * Handle processing of arguments.
  *
+ * A command line is compiled once for a target class, and is immutable, i.e.
+ * the same instance can be shared between threads and reused for processing
+ * any number of arguments.
+ *
  * @param <T> Type reference used for parsing the argument scheme.
  */
 public final class CommandLine<T> {
-    private final T target;
-    private final String[] args;
-    private final SchemeParser schemeParser;
+    private final Scheme scheme;
+    private final boolean expandArgumentFiles;
+    private final ParseCache parseCache;
+    private final ParseListener listener;
+
+    private CommandLine(Builder<T> builder) {
+        scheme = compileScheme(builder);
+        expandArgumentFiles = builder.expandArgumentFiles;
+        parseCache = builder.parseCache;
+        listener = builder.listener;
+    }
+
+    private static Scheme compileScheme(Builder<?> builder) {
+        Scheme scheme = SchemeRegistry.schemeFor(builder.target, builder.listener);
+        if (builder.abbreviations) {
+            return scheme.withAbbreviations();
+        }
 
-    private CommandLine(T target, String[] args) {
-        this.target = target;
-        this.args = args;
+        return scheme;
+    }
 
-        schemeParser = SchemeParserFactory.createFor(target.getClass());
+    /**
+     * Build a command line for the target class.
+     *
+     * @param target Class used for parsing the argument scheme.
+     * @param <T>    Type reference used for parsing the argument scheme.
+     * @return Builder for the command line.
+     */
+    public static <T> Builder<T> builder(Class<T> target) {
+        return new Builder<>(target);
+    }
+
+    /**
+     * Compile the command line for the target class.
+     *
+     * @param target Class used for parsing the argument scheme.
+     * @param <T>    Type reference used for parsing the argument scheme.
+     * @return Command line for processing arguments against the target class.
+     */
+    public static <T> CommandLine<T> compile(Class<T> target) {
+        return builder(target).build();
     }
 
     /**
@@ -52,31 +102,277 @@ public final class CommandLine<T> {
      * @param <T>    Type reference used for parsing the argument scheme.
      */
     public static <T> void process(T target, String... args) {
-        CommandLine<T> commandLine = new CommandLine<>(target, args);
-        commandLine.processArguments();
+        CommandLine<T> commandLine = compile(getTargetClass(target));
+        commandLine.apply(target, args);
     }
 
-    private void processArguments() {
-        getParsedArguments().forEach(parsedArgument -> parsedArgument.call(target));
+    @SuppressWarnings("unchecked")
+    private static <T> Class<T> getTargetClass(T target) {
+        return (Class<T>) target.getClass();
     }
 
-    private Collection<ParsedArgument> getParsedArguments() {
-        return getArgumentParser().parse();
+    /**
+     * Parse the arguments without invoking the parsed arguments.
+     *
+     * The result can be applied to any number of targets, e.g. when the same
+     * arguments are used for configuring multiple instances.
+     *
+     * @param args Arguments to parse.
+     * @return Result from parsing the arguments against the argument scheme.
+     * @throws InvalidArgumentValueException If an argument value could not be converted.
+     */
+    public ParseResult parse(String... args) {
+        if (isCacheable()) {
+            return parseCache.get(scheme, args, () -> parseArguments(args));
+        }
+
+        return parseArguments(args);
     }
 
-    private ArgumentParser getArgumentParser() {
-        return new ArgumentParser(
-                buildArguments(),
-                parseSchemeArgument()
-        );
+    /**
+     * Argument files are read each time the arguments are parsed, since the
+     * files can change between parsing. The cache is also bypassed when a
+     * listener is used, otherwise the listener would not be notified about
+     * recognised tokens and converted values on a cache hit.
+     */
+    private boolean isCacheable() {
+        return nonNull(parseCache) && !expandArgumentFiles && ParseListener.NONE == listener;
     }
 
-    private String buildArguments() {
-        return Arrays.stream(args)
-                .collect(Collectors.joining(" "));
+    /**
+     * Validate the arguments without invoking the parsed arguments.
+     *
+     * Instead of throwing on the first invalid argument, every problem is
+     * collected as a diagnostic with the location of the problem, e.g. for
+     * reporting all problems with untrusted arguments at once.
+     *
+     * @param args Arguments to validate.
+     * @return Result with the problems found, and the arguments parsed without problems.
+     */
+    public ValidationResult validate(String... args) {
+        return getArgumentParser(args).validate();
+    }
+
+    /**
+     * Parse each row of arguments in parallel, using the common fork/join
+     * pool, without invoking the parsed arguments.
+     *
+     * The scheme is compiled once for the command line, i.e. each row is
+     * only tokenized and converted. Rows that could not be parsed are
+     * emitted as failed results, instead of terminating the stream.
+     *
+     * @param rows Rows of arguments to parse.
+     * @return Results from parsing each row, in the order of the rows.
+     */
+    public Stream<BatchResult> parseAll(Stream<String[]> rows) {
+        return rows.parallel().map(this::parseRow);
+    }
+
+    /**
+     * Parse each row of arguments in parallel, using the common fork/join
+     * pool, without invoking the parsed arguments.
+     *
+     * @param rows Rows of arguments to parse.
+     * @return Results from parsing each row, in the order of the rows.
+     * @see #parseAll(Stream)
+     */
+    public Stream<BatchResult> parseAll(Spliterator<String[]> rows) {
+        return parseAll(StreamSupport.stream(rows, true));
+    }
+
+    private BatchResult parseRow(String[] args) {
+        try {
+            return BatchResult.success(args, parse(args));
+        } catch (RuntimeException e) {
+            return BatchResult.failure(args, e);
+        }
     }
 
-    private List<SchemeArgument> parseSchemeArgument() {
-        return schemeParser.parse();
+    private ParseResult parseArguments(String[] args) {
+        return ParseResult.of(getArgumentParser(args).parse(), listener);
+    }
+
+    /**
+     * Parse the arguments, and invoke the parsed arguments on the target.
+     *
+     * @param target Instance on which to invoke the parsed arguments.
+     * @param args   Arguments to process.
+     */
+    public void apply(T target, String... args) {
+        if (isCacheable() || ParseListener.NONE != listener) {
+            parse(args).applyTo(target, listener);
+            return;
+        }
+
+        ParseContext context = ParseContext.create();
+        try (ArgumentSource source = getArgumentSource(ArgumentSources.of(args))) {
+            context.parse(scheme, source);
+        }
+        context.applyTo(target);
+    }
+
+    /**
+     * Parse the arguments using the reusable context, and invoke the parsed
+     * arguments on the target, e.g. with {@link ParseContext#forCurrentThread()}
+     * to avoid allocating while processing arguments repeatedly.
+     *
+     * The context is only used when neither argument files are expanded nor
+     * a listener is used, otherwise the arguments are applied as with
+     * {@link #apply(Object, String...)}.
+     *
+     * @param target  Instance on which to invoke the parsed arguments.
+     * @param context Context used for parsing the arguments.
+     * @param args    Arguments to process.
+     */
+    public void apply(T target, ParseContext context, String... args) {
+        if (expandArgumentFiles || ParseListener.NONE != listener) {
+            apply(target, args);
+            return;
+        }
+
+        context.parse(scheme, args);
+        context.applyTo(target);
+    }
+
+    /**
+     * Parse the arguments, and invoke the parsed arguments on the target
+     * using the executor, e.g. an executor using virtual threads.
+     *
+     * The arguments are parsed on the calling thread. Methods declared as
+     * {@link Argument#independent() independent} are invoked concurrently,
+     * the other methods are invoked in the order of the arguments, one at a
+     * time.
+     *
+     * @param target   Instance on which to invoke the parsed arguments.
+     * @param executor Executor used for invoking the parsed arguments.
+     * @param args     Arguments to process.
+     * @return Future completed when every parsed argument have been invoked,
+     * or completed exceptionally if the arguments could not be processed.
+     */
+    public CompletableFuture<Void> applyAsync(T target, Executor executor, String... args) {
+        ParseResult parseResult;
+        try {
+            parseResult = parse(args);
+        } catch (RuntimeException e) {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+
+            return future;
+        }
+
+        return parseResult.applyToAsync(target, executor, listener);
+    }
+
+    /**
+     * Parse the arguments from the source, passing each parsed argument to
+     * the consumer as soon as it have been recognised.
+     *
+     * Repeated arguments are passed to the consumer each time they occur.
+     *
+     * @param source   Source of the arguments to parse, closed once parsed.
+     * @param consumer Consumer of the parsed arguments.
+     */
+    public void parse(ArgumentSource source, Consumer<ParsedArgument> consumer) {
+        getArgumentParser(source).parse(consumer);
+    }
+
+    /**
+     * Parse the arguments from the source, and invoke each parsed argument on
+     * the target as soon as it have been recognised.
+     *
+     * Repeated arguments are invoked each time they occur.
+     *
+     * @param target Instance on which to invoke the parsed arguments.
+     * @param source Source of the arguments to process, closed once processed.
+     */
+    public void apply(T target, ArgumentSource source) {
+        parse(source, parsedArgument -> parsedArgument.call(target, listener));
+    }
+
+    private ArgumentParser getArgumentParser(String[] args) {
+        return getArgumentParser(ArgumentSources.of(args));
+    }
+
+    private ArgumentParser getArgumentParser(ArgumentSource source) {
+        return new ArgumentParser(scheme, getArgumentSource(source), listener);
+    }
+
+    private ArgumentSource getArgumentSource(ArgumentSource source) {
+        if (expandArgumentFiles) {
+            return ArgumentSources.expandArgumentFiles(source);
+        }
+
+        return source;
+    }
+
+    public static final class Builder<T> {
+        private final Class<T> target;
+        private boolean expandArgumentFiles;
+        private ParseCache parseCache;
+        private boolean abbreviations;
+        private ParseListener listener = ParseListener.NONE;
+
+        private Builder(Class<T> target) {
+            this.target = target;
+        }
+
+        /**
+         * Replace arguments prefixed with {@code @} with the arguments read
+         * from the file, e.g. {@code @arguments.txt}. Disabled by default.
+         *
+         * @param expandArgumentFiles Whether argument files should be expanded.
+         * @return Builder for the command line.
+         * @see ArgumentSources#expandArgumentFiles(ArgumentSource)
+         */
+        public Builder<T> expandArgumentFiles(boolean expandArgumentFiles) {
+            this.expandArgumentFiles = expandArgumentFiles;
+            return this;
+        }
+
+        /**
+         * Cache the parse results, i.e. arguments that have been parsed
+         * before are only invoked. Results are not cached when argument files
+         * are expanded or when a listener is used. Disabled by default.
+         *
+         * @param parseCache Cache for the parse results, can be shared between command lines.
+         * @return Builder for the command line.
+         */
+        public Builder<T> parseCache(ParseCache parseCache) {
+            this.parseCache = parseCache;
+            return this;
+        }
+
+        /**
+         * Accept unambiguous abbreviations of the long names, e.g.
+         * {@code --verb} for {@code --verbose}. Disabled by default.
+         *
+         * @param abbreviations Whether abbreviated long names should be accepted.
+         * @return Builder for the command line.
+         * @see Scheme#withAbbreviations()
+         */
+        public Builder<T> abbreviations(boolean abbreviations) {
+            this.abbreviations = abbreviations;
+            return this;
+        }
+
+        /**
+         * Notify the listener about the stages of processing the arguments.
+         *
+         * When a listener is used, argument values are converted before the
+         * methods are invoked, to measure the conversion and the invocation
+         * separately. Arguments applied from an {@link ArgumentSource} are
+         * converted as part of the invocation.
+         *
+         * @param listener Listener notified about the stages of processing the arguments, or null for none.
+         * @return Builder for the command line.
+         */
+        public Builder<T> listener(ParseListener listener) {
+            this.listener = isNull(listener) ? ParseListener.NONE : listener;
+            return this;
+        }
+
+        public CommandLine<T> build() {
+            return new CommandLine<>(this);
+        }
     }
 }
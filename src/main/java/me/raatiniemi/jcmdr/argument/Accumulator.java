@@ -0,0 +1,307 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.argument;
+
+import me.raatiniemi.jcmdr.exception.InvalidArgumentValueException;
+import me.raatiniemi.jcmdr.scheme.SchemeArgument;
+import me.raatiniemi.jcmdr.scheme.annotation.Accumulation;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static me.raatiniemi.jcmdr.argument.ArgumentValueSanitizer.isQuoted;
+import static me.raatiniemi.jcmdr.argument.ArgumentValueSanitizer.sanitize;
+import static me.raatiniemi.jcmdr.argument.ArgumentValueSanitizer.sanitizeView;
+import static me.raatiniemi.jcmdr.helper.Numbers.isDecimal;
+import static me.raatiniemi.jcmdr.helper.Numbers.parseDecimal;
+
+/**
+ * Accumulate the repeated occurrences of an argument, for calling the method
+ * associated with the argument once with the accumulated value.
+ *
+ * Collected numbers are parsed as they are added, into a buffer of primitives
+ * that grow as needed and is reused between parses. The quotes of the values
+ * are expected to have been checked before the values are added.
+ */
+final class Accumulator {
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int MISSING = -1;
+
+    private final SchemeArgument schemeArgument;
+    private final Accumulation accumulation;
+    private final Class<?> valueType;
+
+    private int size;
+    private String argument;
+    private int valueStart = MISSING;
+    private int valueEnd = MISSING;
+    private long[] numbers;
+    private String[] values;
+
+    Accumulator(SchemeArgument schemeArgument) {
+        this.schemeArgument = schemeArgument;
+        accumulation = schemeArgument.getAccumulation();
+        valueType = schemeArgument.getValueType();
+
+        if (Accumulation.COLLECT != accumulation) {
+            return;
+        }
+
+        if (isNumeric()) {
+            numbers = new long[INITIAL_CAPACITY];
+            return;
+        }
+
+        values = new String[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Check whether repeated occurrences of the argument are accumulated,
+     * i.e. if the method is not invoked for each distinct occurrence.
+     */
+    static boolean isAccumulated(SchemeArgument schemeArgument) {
+        return Accumulation.DISTINCT != schemeArgument.getAccumulation();
+    }
+
+    /**
+     * Check whether the occurrences are passed as an aggregate, i.e. counted
+     * or collected, instead of as one of the occurrences.
+     */
+    static boolean isAggregated(SchemeArgument schemeArgument) {
+        Accumulation accumulation = schemeArgument.getAccumulation();
+
+        return Accumulation.COUNT == accumulation || Accumulation.COLLECT == accumulation;
+    }
+
+    private boolean isNumeric() {
+        return int[].class == valueType || long[].class == valueType;
+    }
+
+    SchemeArgument getSchemeArgument() {
+        return schemeArgument;
+    }
+
+    /**
+     * @return Number of occurrences that have been added.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Add an occurrence of the argument.
+     *
+     * @param argument   Argument containing the value, or null if the occurrence have no value.
+     * @param valueStart Index of the first character of the value.
+     * @param valueEnd   Index after the last character of the value.
+     * @throws InvalidArgumentValueException If a collected number could not be parsed.
+     */
+    void add(String argument, int valueStart, int valueEnd) {
+        if (!tryAdd(argument, valueStart, valueEnd)) {
+            throw InvalidArgumentValueException.unableToConvert(
+                    sanitizeView(argument, valueStart, valueEnd),
+                    valueType.getComponentType(),
+                    null
+            );
+        }
+    }
+
+    /**
+     * Add an occurrence of the argument, without throwing if a collected
+     * number could not be parsed.
+     *
+     * @param argument   Argument containing the value, or null if the occurrence have no value.
+     * @param valueStart Index of the first character of the value.
+     * @param valueEnd   Index after the last character of the value.
+     * @return True if the occurrence have been added, false if a collected number could not be parsed.
+     */
+    boolean tryAdd(String argument, int valueStart, int valueEnd) {
+        if (Accumulation.COLLECT == accumulation) {
+            if (!collect(argument, valueStart, valueEnd)) {
+                return false;
+            }
+        } else if (Accumulation.LAST == accumulation || 0 == size) {
+            this.argument = argument;
+            this.valueStart = valueStart;
+            this.valueEnd = valueEnd;
+        }
+
+        size++;
+        return true;
+    }
+
+    private boolean collect(String argument, int valueStart, int valueEnd) {
+        if (nonNull(values)) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size << 1);
+            }
+
+            values[size] = sanitize(argument, valueStart, valueEnd);
+            return true;
+        }
+
+        if (isQuoted(argument, valueStart, valueEnd)) {
+            valueStart++;
+            valueEnd--;
+        }
+
+        if (!isNumber(argument, valueStart, valueEnd)) {
+            return false;
+        }
+
+        if (size == numbers.length) {
+            numbers = Arrays.copyOf(numbers, size << 1);
+        }
+        numbers[size] = parseDecimal(argument, valueStart, valueEnd);
+        return true;
+    }
+
+    private boolean isNumber(String argument, int start, int end) {
+        if (int[].class == valueType) {
+            return isDecimal(argument, start, end, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        }
+
+        return isDecimal(argument, start, end, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Remove the occurrences, releasing the references to the arguments. The
+     * buffers are kept for the next parse.
+     */
+    void reset() {
+        if (nonNull(values)) {
+            Arrays.fill(values, 0, size, null);
+        }
+
+        argument = null;
+        valueStart = MISSING;
+        valueEnd = MISSING;
+        size = 0;
+    }
+
+    /**
+     * Call the method associated with the argument with the accumulated value.
+     *
+     * @param target Target class on which to call the method.
+     * @param <T>    Type reference of the target class.
+     */
+    <T> void call(T target) {
+        if (isAggregated(schemeArgument)) {
+            schemeArgument.callConverted(target, aggregate());
+            return;
+        }
+
+        schemeArgument.call(target, value());
+    }
+
+    private String value() {
+        if (isNull(argument)) {
+            return null;
+        }
+
+        return sanitize(argument, valueStart, valueEnd);
+    }
+
+    /**
+     * Build the aggregate of the occurrences, a new instance is built for
+     * each call since the method may modify arrays.
+     */
+    private Object aggregate() {
+        if (Accumulation.COUNT == accumulation) {
+            if (long.class == valueType || Long.class == valueType) {
+                return (long) size;
+            }
+
+            return size;
+        }
+
+        if (nonNull(values)) {
+            return Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(values, size)));
+        }
+
+        if (long[].class == valueType) {
+            return Arrays.copyOf(numbers, size);
+        }
+
+        int[] collected = new int[size];
+        for (int i = 0; i < size; i++) {
+            collected[i] = (int) numbers[i];
+        }
+
+        return collected;
+    }
+
+    /**
+     * Wrap the accumulated value as a parsed argument, e.g. to keep the value
+     * after the accumulator have been reset.
+     *
+     * @return Parsed argument for the accumulated value.
+     */
+    ParsedArgument toParsedArgument() {
+        if (!isAggregated(schemeArgument)) {
+            return new ParsedArgumentImpl.Builder()
+                    .schemeArgument(schemeArgument)
+                    .argumentValue(value())
+                    .build();
+        }
+
+        return new AggregatedArgument(schemeArgument, aggregate());
+    }
+
+    /**
+     * Parsed argument with an aggregated value, arrays are copied for each
+     * call since the method may modify them.
+     */
+    private static final class AggregatedArgument implements ParsedArgument {
+        private final SchemeArgument schemeArgument;
+        private final Object aggregate;
+
+        private AggregatedArgument(SchemeArgument schemeArgument, Object aggregate) {
+            this.schemeArgument = schemeArgument;
+            this.aggregate = aggregate;
+        }
+
+        private static Object copy(Object aggregate) {
+            if (aggregate instanceof int[]) {
+                return ((int[]) aggregate).clone();
+            }
+
+            if (aggregate instanceof long[]) {
+                return ((long[]) aggregate).clone();
+            }
+
+            return aggregate;
+        }
+
+        @Override
+        public SchemeArgument getSchemeArgument() {
+            return schemeArgument;
+        }
+
+        @Override
+        public <T> void call(T target) {
+            schemeArgument.callConverted(target, copy(aggregate));
+        }
+
+        @Override
+        public String toString() {
+            return schemeArgument.toString();
+        }
+    }
+}
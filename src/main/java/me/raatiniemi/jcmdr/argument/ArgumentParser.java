@@ -16,15 +16,26 @@
 
 package me.raatiniemi.jcmdr.argument;
 
+import me.raatiniemi.jcmdr.argument.exception.UnevenQuotesException;
+import me.raatiniemi.jcmdr.exception.InvalidArgumentValueException;
+import me.raatiniemi.jcmdr.listener.ParseListener;
+import me.raatiniemi.jcmdr.scheme.Scheme;
 import me.raatiniemi.jcmdr.scheme.SchemeArgument;
+import me.raatiniemi.jcmdr.scheme.annotation.Accumulation;
 
-import java.util.*;
-import java.util.function.Function;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static me.raatiniemi.jcmdr.argument.ArgumentValueSanitizer.indexOfUnevenQuote;
+import static me.raatiniemi.jcmdr.argument.ArgumentValueSanitizer.requireEvenQuotes;
 import static me.raatiniemi.jcmdr.argument.ArgumentValueSanitizer.sanitize;
 import static me.raatiniemi.jcmdr.helper.Strings.isNullOrEmpty;
 
@@ -32,143 +43,464 @@ import static me.raatiniemi.jcmdr.helper.Strings.isNullOrEmpty;
  * Handle parsing of arguments against a predefined argument scheme.
  */
 public final class ArgumentParser {
-    private static final String PREFIX_JAVA_OPTION = "-D";
-    private static final String PREFIX_LONG_NAME = "--";
-    private static final String PREFIX_SHORT_NAME = "-";
-    private static final String VALUE_SEPARATOR = "=";
+    private static final String ARGUMENT_SEPARATOR = " ";
+    private static final int MISSING = -1;
 
-    private final Function<String, String> removeJavaPrefix = s -> s.replaceFirst(PREFIX_JAVA_OPTION, "");
-    private final Function<String, String> removeLongNamePrefix = s -> s.replaceFirst(PREFIX_LONG_NAME, "");
-    private final Function<String, String> removeShortNamePrefix = s -> s.replaceFirst(PREFIX_SHORT_NAME, "");
-    private final Function<String, Stream<String>> convertEachCharacterToString = s -> s.chars()
-            .mapToObj(i -> (char) i)
-            .map(String::valueOf);
+    private final Scheme scheme;
+    private final ArgumentSource source;
+    private final ParseListener listener;
 
-    private final Function<String, Stream<String>> processArgumentSegment = argumentSegment -> {
-        Stream<String> stream = Stream.of(argumentSegment);
+    /**
+     * Construct the argument parser.
+     *
+     * @param arguments       Arguments, separated by space, to parse against the argument scheme.
+     * @param schemeArguments Argument scheme used for parsing.
+     */
+    public ArgumentParser(String arguments, List<SchemeArgument> schemeArguments) {
+        this(Scheme.of(schemeArguments), splitArguments(arguments));
+    }
+
+    /**
+     * Construct the argument parser.
+     *
+     * @param scheme    Compiled argument scheme used for parsing.
+     * @param arguments Arguments to parse against the argument scheme.
+     */
+    public ArgumentParser(Scheme scheme, String... arguments) {
+        this(scheme, ArgumentSources.of(arguments));
+    }
+
+    /**
+     * Construct the argument parser.
+     *
+     * The source is closed once the arguments have been parsed.
+     *
+     * @param scheme Compiled argument scheme used for parsing.
+     * @param source Source of the arguments to parse against the argument scheme.
+     */
+    public ArgumentParser(Scheme scheme, ArgumentSource source) {
+        this(scheme, source, ParseListener.NONE);
+    }
 
-        if (isJavaOption(argumentSegment)) {
-            return stream.map(removeJavaPrefix);
+    /**
+     * Construct the argument parser.
+     *
+     * The source is closed once the arguments have been parsed.
+     *
+     * @param scheme   Compiled argument scheme used for parsing.
+     * @param source   Source of the arguments to parse against the argument scheme.
+     * @param listener Listener notified about the recognised, and unmatched, options.
+     */
+    public ArgumentParser(Scheme scheme, ArgumentSource source, ParseListener listener) {
+        this.scheme = scheme;
+        this.source = source;
+        this.listener = listener;
+    }
+
+    private static String[] splitArguments(String arguments) {
+        if (isNullOrEmpty(arguments)) {
+            return new String[0];
         }
 
-        if (isLongName(argumentSegment)) {
-            return stream.map(removeLongNamePrefix);
+        return arguments.split(ARGUMENT_SEPARATOR);
+    }
+
+    /**
+     * Parse the arguments against the argument scheme.
+     *
+     * @return Arguments parsed against the argument scheme.
+     */
+    public Collection<ParsedArgument> parse() {
+        if (ParseListener.NONE != listener) {
+            return parseWithListener();
         }
 
-        return stream.map(removeShortNamePrefix)
-                .flatMap(convertEachCharacterToString);
-    };
+        ParseContext context = ParseContext.create();
+        try (ArgumentSource source = this.source) {
+            if (isMissingArgumentScheme() || isNull(source)) {
+                return Collections.emptySet();
+            }
 
-    private final Function<String, Optional<ParsedArgument>> parseArgumentSegment = argumentSegment -> {
-        if (argumentHaveValue(argumentSegment)) {
-            String[] argumentWithValue = argumentSegment.split(VALUE_SEPARATOR, 2);
-            return collectParsedArgument(
-                    argumentWithValue[0],
-                    argumentWithValue[1]
-            );
+            context.parse(scheme, source);
         }
 
-        return collectParsedArgument(argumentSegment);
-    };
+        return context.toParsedArguments();
+    }
 
-    private final String arguments;
-    private final List<SchemeArgument> schemeArguments;
+    /**
+     * Accumulated arguments are kept in the position where they first occur,
+     * i.e. the arguments are invoked in the same order as without a listener.
+     */
+    private Collection<ParsedArgument> parseWithListener() {
+        List<ParsedArgument> parsedArguments = new ArrayList<>();
+        try (ArgumentSource source = this.source) {
+            if (isMissingArgumentScheme() || isNull(source)) {
+                return Collections.emptySet();
+            }
+
+            AccumulatedArguments accumulatedArguments = new AccumulatedArguments(scheme, parsedArguments);
+            parseWithListener(new ArgumentTokenizer(source), parsedArguments::add, accumulatedArguments);
+        }
+
+        if (parsedArguments.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return new LinkedHashSet<>(parsedArguments);
+    }
 
     /**
-     * Construct the argument parser.
+     * Parse the arguments against the argument scheme, passing each parsed
+     * argument to the consumer as soon as it have been recognised.
      *
-     * @param arguments       Arguments to parse against the argument scheme.
-     * @param schemeArguments Argument scheme used for parsing.
+     * Since the parsed arguments are not collected, memory usage is constant
+     * regardless of the number of arguments. Arguments are passed to the
+     * consumer each time they occur, i.e. repeated arguments are not merged,
+     * unless the scheme argument declare how repeated arguments are
+     * accumulated. Accumulated arguments are passed to the consumer once the
+     * arguments have been parsed, in the order they first occur.
+     *
+     * @param consumer Consumer of the parsed arguments.
      */
-    public ArgumentParser(String arguments, List<SchemeArgument> schemeArguments) {
-        this.arguments = arguments;
-        this.schemeArguments = schemeArguments;
-    }
+    public void parse(Consumer<ParsedArgument> consumer) {
+        try (ArgumentSource source = this.source) {
+            if (isMissingArgumentScheme() || isNull(source)) {
+                return;
+            }
 
-    private static boolean isJavaOption(String argumentSegment) {
-        return argumentSegment.startsWith(PREFIX_JAVA_OPTION);
+            ArgumentTokenizer tokenizer = new ArgumentTokenizer(source);
+            if (ParseListener.NONE == listener) {
+                parse(tokenizer, consumer);
+                return;
+            }
+
+            parseWithListener(tokenizer, consumer, new AccumulatedArguments(scheme, null));
+        }
     }
 
-    private static boolean isLongName(String argumentSegment) {
-        return argumentSegment.startsWith(PREFIX_LONG_NAME);
+    private void parse(ArgumentTokenizer tokenizer, Consumer<ParsedArgument> consumer) {
+        AccumulatedArguments accumulatedArguments = new AccumulatedArguments(scheme, null);
+        while (tokenizer.next()) {
+            int ordinal = findSchemeArgument(tokenizer);
+            if (MISSING == ordinal) {
+                continue;
+            }
+
+            SchemeArgument schemeArgument = scheme.get(ordinal);
+            if (Accumulator.isAccumulated(schemeArgument)) {
+                accumulatedArguments.add(ordinal, schemeArgument, tokenizer);
+                continue;
+            }
+
+            consumer.accept(buildParsedArgument(schemeArgument, tokenizer));
+        }
+
+        accumulatedArguments.complete(consumer);
     }
 
-    private static boolean argumentHaveValue(String argument) {
-        return argument.contains(VALUE_SEPARATOR);
+    private void parseWithListener(
+            ArgumentTokenizer tokenizer,
+            Consumer<ParsedArgument> consumer,
+            AccumulatedArguments accumulatedArguments
+    ) {
+        int recognisedCount = 0;
+        int unmatchedCount = 0;
+        long parseStart = System.nanoTime();
+
+        long start = parseStart;
+        while (tokenizer.next()) {
+            int ordinal = findSchemeArgument(tokenizer);
+            if (MISSING == ordinal) {
+                unmatchedCount++;
+                listener.tokenUnmatched(tokenizer.argument(), tokenizer.nameStart(), tokenizer.nameEnd());
+                start = System.nanoTime();
+                continue;
+            }
+
+            SchemeArgument schemeArgument = scheme.get(ordinal);
+            ParsedArgument parsedArgument = null;
+            try {
+                if (Accumulator.isAccumulated(schemeArgument)) {
+                    accumulatedArguments.add(ordinal, schemeArgument, tokenizer);
+                } else {
+                    parsedArgument = buildParsedArgument(schemeArgument, tokenizer);
+                }
+            } catch (UnevenQuotesException e) {
+                listener.sanitizeFailed(tokenizer.argument(), e);
+                throw e;
+            }
+            recognisedCount++;
+            listener.tokenRecognised(schemeArgument, System.nanoTime() - start);
+
+            if (nonNull(parsedArgument)) {
+                consumer.accept(parsedArgument);
+            }
+            start = System.nanoTime();
+        }
+
+        accumulatedArguments.complete(consumer);
+        listener.parseCompleted(recognisedCount, unmatchedCount, System.nanoTime() - parseStart);
     }
 
     /**
-     * Parse the arguments against the argument scheme.
+     * Validate the arguments against the argument scheme, collecting every
+     * problem instead of throwing on the first.
      *
-     * @return Arguments parsed against the argument scheme.
+     * Unknown options, ambiguous abbreviations and uneven quotes are detected
+     * without throwing. The argument values are checked, and converted, as
+     * part of the validation, and values that could not be converted are
+     * reported as problems. Values for the built-in conversions are checked
+     * without throwing, other values are reported when the conversion fails.
+     *
+     * Repeated arguments are accumulated as declared by the scheme argument,
+     * values that could not be converted are left out of the accumulated
+     * value.
+     *
+     * @return Result with the problems, and the arguments parsed without problems.
      */
-    public Collection<ParsedArgument> parse() {
-        if (isMissingArgumentScheme()) {
-            return Collections.emptySet();
+    public ValidationResult validate() {
+        Map<Object, ParsedArgument> convertedArguments = new LinkedHashMap<>();
+        Map<SchemeArgument, Accumulator> accumulators = new LinkedHashMap<>();
+        List<Diagnostic> diagnostics = new ArrayList<>();
+
+        try (ArgumentSource source = this.source) {
+            if (isNull(source)) {
+                return new ValidationResult(ParseResult.of(Collections.emptyList()), diagnostics);
+            }
+
+            ArgumentTokenizer tokenizer = new ArgumentTokenizer(source);
+            while (tokenizer.next()) {
+                int ordinal = scheme.lookup(
+                        tokenizer.argument(),
+                        tokenizer.nameStart(),
+                        tokenizer.nameEnd(),
+                        tokenizer.hasValue()
+                );
+                if (MISSING == ordinal) {
+                    diagnostics.add(nameDiagnostic(Diagnostic.Kind.UNKNOWN_OPTION, tokenizer));
+                    continue;
+                }
+
+                if (Scheme.AMBIGUOUS == ordinal) {
+                    diagnostics.add(nameDiagnostic(Diagnostic.Kind.AMBIGUOUS_OPTION, tokenizer));
+                    continue;
+                }
+
+                if (tokenizer.hasValue()) {
+                    int unevenQuote = indexOfUnevenQuote(tokenizer.argument(), tokenizer.valueStart(), tokenizer.valueEnd());
+                    if (MISSING != unevenQuote) {
+                        diagnostics.add(new Diagnostic(
+                                Diagnostic.Kind.UNEVEN_QUOTES,
+                                tokenizer.argument(),
+                                tokenizer.argumentIndex(),
+                                unevenQuote,
+                                unevenQuote + 1
+                        ));
+                        continue;
+                    }
+                }
+
+                SchemeArgument schemeArgument = scheme.get(ordinal);
+                if (Accumulator.isAggregated(schemeArgument)) {
+                    if (!aggregate(schemeArgument, tokenizer, accumulators, convertedArguments)) {
+                        diagnostics.add(invalidValueDiagnostic(tokenizer));
+                    }
+                    continue;
+                }
+
+                ParsedArgumentImpl parsedArgument = buildParsedArgument(schemeArgument, tokenizer);
+                Object key = getValidationKey(parsedArgument);
+                if (!isReplaced(schemeArgument) && convertedArguments.containsKey(key)) {
+                    continue;
+                }
+
+                if (!parsedArgument.isValidValue()) {
+                    diagnostics.add(invalidValueDiagnostic(tokenizer));
+                    continue;
+                }
+
+                try {
+                    convertedArguments.put(key, parsedArgument.convert());
+                } catch (InvalidArgumentValueException e) {
+                    diagnostics.add(invalidValueDiagnostic(tokenizer));
+                }
+            }
         }
 
-        if (isMissingArguments()) {
-            return Collections.emptySet();
+        for (Accumulator accumulator : accumulators.values()) {
+            if (0 == accumulator.size()) {
+                continue;
+            }
+
+            convertedArguments.put(accumulator.getSchemeArgument(), accumulator.toParsedArgument());
         }
 
-        return parseArgumentSegments();
+        return new ValidationResult(ParseResult.of(convertedArguments.values()), diagnostics);
     }
 
-    private boolean isMissingArgumentScheme() {
-        return isNull(schemeArguments) || schemeArguments.isEmpty();
+    /**
+     * Arguments taking the first, or last, occurrence are kept once for the
+     * scheme argument, other arguments are kept once for each distinct value.
+     */
+    private static Object getValidationKey(ParsedArgumentImpl parsedArgument) {
+        SchemeArgument schemeArgument = parsedArgument.getSchemeArgument();
+        if (Accumulator.isAccumulated(schemeArgument)) {
+            return schemeArgument;
+        }
+
+        return parsedArgument;
     }
 
-    private boolean isMissingArguments() {
-        return isNullOrEmpty(arguments);
+    private static boolean isReplaced(SchemeArgument schemeArgument) {
+        return Accumulation.LAST == schemeArgument.getAccumulation();
     }
 
-    private Collection<ParsedArgument> parseArgumentSegments() {
-        return getArgumentSegments()
-                .flatMap(processArgumentSegment)
-                .map(parseArgumentSegment)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .collect(Collectors.toCollection(LinkedHashSet::new));
+    /**
+     * The aggregated argument is kept in the position of the first valid
+     * occurrence, and is replaced with the aggregate once every argument
+     * have been validated.
+     *
+     * @return True if the argument have been aggregated, false if the value could not be converted.
+     */
+    private static boolean aggregate(
+            SchemeArgument schemeArgument,
+            ArgumentTokenizer tokenizer,
+            Map<SchemeArgument, Accumulator> accumulators,
+            Map<Object, ParsedArgument> convertedArguments
+    ) {
+        Accumulator accumulator = accumulators.computeIfAbsent(schemeArgument, Accumulator::new);
+        boolean added = tokenizer.hasValue()
+                ? accumulator.tryAdd(tokenizer.argument(), tokenizer.valueStart(), tokenizer.valueEnd())
+                : accumulator.tryAdd(null, MISSING, MISSING);
+        if (!added) {
+            return false;
+        }
+
+        convertedArguments.putIfAbsent(schemeArgument, null);
+        return true;
     }
 
-    private Stream<String> getArgumentSegments() {
-        return Arrays.stream(arguments.split(" "));
+    private static Diagnostic invalidValueDiagnostic(ArgumentTokenizer tokenizer) {
+        return new Diagnostic(
+                Diagnostic.Kind.INVALID_VALUE,
+                tokenizer.argument(),
+                tokenizer.argumentIndex(),
+                tokenizer.valueStart(),
+                tokenizer.valueEnd()
+        );
     }
 
-    private Optional<ParsedArgument> collectParsedArgument(String argument) {
-        return schemeArguments.parallelStream()
-                .filter(matches(argument))
-                .map(buildParsedArgumentWithoutValue())
-                .findFirst();
+    private static Diagnostic nameDiagnostic(Diagnostic.Kind kind, ArgumentTokenizer tokenizer) {
+        return new Diagnostic(
+                kind,
+                tokenizer.argument(),
+                tokenizer.argumentIndex(),
+                tokenizer.nameStart(),
+                tokenizer.nameEnd()
+        );
     }
 
-    private Predicate<SchemeArgument> matches(String argument, Class<?>... argumentValueTypes) {
-        return schemeArgument -> schemeArgument.validate(argument, argumentValueTypes);
+    private boolean isMissingArgumentScheme() {
+        return scheme.isEmpty();
     }
 
-    private Function<SchemeArgument, ParsedArgument> buildParsedArgumentWithoutValue() {
-        return buildParsedArgument("");
+    private int findSchemeArgument(ArgumentTokenizer tokenizer) {
+        return scheme.indexOf(
+                tokenizer.argument(),
+                tokenizer.nameStart(),
+                tokenizer.nameEnd(),
+                tokenizer.hasValue()
+        );
     }
 
-    private Function<SchemeArgument, ParsedArgument> buildParsedArgument(String argumentValue) {
-        return schemeArgument -> {
-            ParsedArgumentImpl.Builder builder = new ParsedArgumentImpl.Builder()
-                    .schemeArgument(schemeArgument);
+    /**
+     * Accumulated arguments, in the order they first occur.
+     *
+     * When the parsed arguments are collected, a slot is reserved for each
+     * accumulated argument where it first occur, and is filled once every
+     * argument have been parsed. Otherwise, the accumulated arguments are
+     * passed to the consumer once every argument have been parsed.
+     */
+    private static final class AccumulatedArguments {
+        private final Scheme scheme;
+        private final List<ParsedArgument> parsedArguments;
+        private final List<Accumulator> accumulators = new ArrayList<>();
+        private final List<Integer> slots = new ArrayList<>();
+        private Accumulator[] accumulatorsByOrdinal;
+
+        /**
+         * @param scheme          Compiled argument scheme used for parsing.
+         * @param parsedArguments Collected parsed arguments, or null if the parsed arguments are streamed.
+         */
+        private AccumulatedArguments(Scheme scheme, List<ParsedArgument> parsedArguments) {
+            this.scheme = scheme;
+            this.parsedArguments = parsedArguments;
+        }
+
+        /**
+         * @throws UnevenQuotesException         If the argument value have unbalanced quotes.
+         * @throws InvalidArgumentValueException If a collected value could not be converted.
+         */
+        private void add(int ordinal, SchemeArgument schemeArgument, ArgumentTokenizer tokenizer) {
+            if (isNull(accumulatorsByOrdinal)) {
+                accumulatorsByOrdinal = new Accumulator[scheme.size()];
+            }
+
+            Accumulator accumulator = accumulatorsByOrdinal[ordinal];
+            if (isNull(accumulator)) {
+                accumulator = new Accumulator(schemeArgument);
+                accumulatorsByOrdinal[ordinal] = accumulator;
+                accumulators.add(accumulator);
+                reserveSlot();
+            }
+
+            if (!tokenizer.hasValue()) {
+                accumulator.add(null, MISSING, MISSING);
+                return;
+            }
+
+            requireEvenQuotes(tokenizer.argument(), tokenizer.valueStart(), tokenizer.valueEnd());
+            accumulator.add(tokenizer.argument(), tokenizer.valueStart(), tokenizer.valueEnd());
+        }
 
-            if (isNullOrEmpty(argumentValue)) {
-                return builder.build();
+        private void reserveSlot() {
+            if (isNull(parsedArguments)) {
+                return;
             }
 
-            return builder
-                    .argumentValue(sanitize(argumentValue))
-                    .build();
-        };
+            slots.add(parsedArguments.size());
+            parsedArguments.add(null);
+        }
+
+        /**
+         * Fill the reserved slots, or pass the accumulated arguments to the
+         * consumer if the parsed arguments are streamed.
+         */
+        private void complete(Consumer<ParsedArgument> consumer) {
+            for (int i = 0; i < accumulators.size(); i++) {
+                ParsedArgument parsedArgument = accumulators.get(i).toParsedArgument();
+                if (isNull(parsedArguments)) {
+                    consumer.accept(parsedArgument);
+                    continue;
+                }
+
+                parsedArguments.set(slots.get(i), parsedArgument);
+            }
+        }
     }
 
-    private Optional<ParsedArgument> collectParsedArgument(String argument, String argumentValue) {
-        return schemeArguments.parallelStream()
-                .filter(matches(argument, argumentValue.getClass()))
-                .map(buildParsedArgument(argumentValue))
-                .findFirst();
+    private ParsedArgumentImpl buildParsedArgument(
+            SchemeArgument schemeArgument,
+            ArgumentTokenizer tokenizer
+    ) {
+        ParsedArgumentImpl.Builder builder = new ParsedArgumentImpl.Builder()
+                .schemeArgument(schemeArgument);
+
+        if (!tokenizer.hasValue()) {
+            return builder.build();
+        }
+
+        return builder
+                .argumentValue(sanitize(tokenizer.argument(), tokenizer.valueStart(), tokenizer.valueEnd()))
+                .build();
     }
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.argument;
+
+import java.io.UncheckedIOException;
+
+/**
+ * Source of arguments, read one argument at a time.
+ *
+ * Since the arguments are only read when requested, sources backed by files
+ * or readers do not need to hold every argument in memory.
+ */
+public interface ArgumentSource extends AutoCloseable {
+    /**
+     * Read the next argument.
+     *
+     * @return Next argument, or null if there are no more arguments.
+     * @throws UncheckedIOException If the argument could not be read.
+     */
+    String next();
+
+    /**
+     * Release the resources held by the source.
+     *
+     * @throws UncheckedIOException If the resources could not be released.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.argument;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Create sources of arguments.
+ */
+public final class ArgumentSources {
+    private static final char PREFIX_ARGUMENT_FILE = '@';
+
+    private ArgumentSources() {
+    }
+
+    /**
+     * Create a source reading the arguments from an array, e.g. the arguments
+     * from the {@code main}-method. Null arguments are skipped.
+     *
+     * @param arguments Arguments to read.
+     * @return Source reading the arguments from the array.
+     */
+    public static ArgumentSource of(String... arguments) {
+        return new ArraySource(arguments);
+    }
+
+    /**
+     * Create a source reading the arguments from a reader.
+     *
+     * Arguments are separated by whitespace, and can be enclosed in single or
+     * double quotes to include whitespace. Within quotes, a backslash escapes
+     * the following character. A {@code #} at the start of an argument starts
+     * a comment, which continues to the end of the line.
+     *
+     * @param reader Reader from which to read the arguments.
+     * @return Source reading the arguments from the reader.
+     */
+    public static ArgumentSource of(Reader reader) {
+        return new ReaderSource(reader);
+    }
+
+    /**
+     * Create a source reading the arguments from a memory-mapped file, in the
+     * same format as {@link #of(Reader)}.
+     *
+     * @param path    Path to the file from which to read the arguments.
+     * @param charset Charset used for decoding the file.
+     * @return Source reading the arguments from the file.
+     * @throws UncheckedIOException If the file could not be opened.
+     */
+    public static ArgumentSource of(Path path, Charset charset) {
+        try {
+            return new ReaderSource(new MappedFileReader(path, charset));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Create a source reading the arguments from a memory-mapped, UTF-8 encoded, file.
+     *
+     * @param path Path to the file from which to read the arguments.
+     * @return Source reading the arguments from the file.
+     * @throws UncheckedIOException If the file could not be opened.
+     */
+    public static ArgumentSource of(Path path) {
+        return of(path, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Expand argument files within the source.
+     *
+     * Arguments prefixed with {@code @} are replaced with the arguments read
+     * from the file, e.g. {@code @arguments.txt}. The file is read while the
+     * arguments are parsed, i.e. the file is never read into memory as a whole.
+     * Argument files within argument files are not expanded.
+     *
+     * @param source Source of the arguments to expand.
+     * @return Source with argument files expanded.
+     */
+    public static ArgumentSource expandArgumentFiles(ArgumentSource source) {
+        return new ExpandingSource(source);
+    }
+
+    static final class ArraySource implements ArgumentSource {
+        private String[] arguments;
+        private int index;
+
+        ArraySource(String[] arguments) {
+            this.arguments = arguments;
+        }
+
+        /**
+         * Read the arguments from the beginning of another array, i.e. to
+         * reuse the source without allocating a new source.
+         */
+        void reset(String[] arguments) {
+            this.arguments = arguments;
+            index = 0;
+        }
+
+        @Override
+        public String next() {
+            if (isNull(arguments)) {
+                return null;
+            }
+
+            while (index < arguments.length) {
+                String argument = arguments[index++];
+                if (nonNull(argument)) {
+                    return argument;
+                }
+            }
+
+            return null;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class ExpandingSource implements ArgumentSource {
+        private final ArgumentSource source;
+        private ArgumentSource argumentFile;
+
+        private ExpandingSource(ArgumentSource source) {
+            this.source = source;
+        }
+
+        private static boolean isArgumentFile(String argument) {
+            return argument.length() > 1 && PREFIX_ARGUMENT_FILE == argument.charAt(0);
+        }
+
+        @Override
+        public String next() {
+            while (true) {
+                if (nonNull(argumentFile)) {
+                    String argument = argumentFile.next();
+                    if (nonNull(argument)) {
+                        return argument;
+                    }
+
+                    closeArgumentFile();
+                }
+
+                String argument = source.next();
+                if (isNull(argument) || !isArgumentFile(argument)) {
+                    return argument;
+                }
+
+                argumentFile = of(Paths.get(argument.substring(1)));
+            }
+        }
+
+        private void closeArgumentFile() {
+            ArgumentSource source = argumentFile;
+            argumentFile = null;
+
+            source.close();
+        }
+
+        @Override
+        public void close() {
+            try {
+                if (nonNull(argumentFile)) {
+                    closeArgumentFile();
+                }
+            } finally {
+                source.close();
+            }
+        }
+    }
+}
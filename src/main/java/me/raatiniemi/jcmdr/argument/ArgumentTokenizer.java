@@ -0,0 +1,220 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.argument;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Cursor over the options within the arguments.
+ *
+ * The arguments are walked in a single pass, and each option is exposed as
+ * offsets into the argument it was found in, i.e. neither the option name nor
+ * its value is copied while tokenizing.
+ *
+ * Arguments prefixed with {@code -D} or {@code --} contain a single option,
+ * optionally followed by a value separated with an equal sign. Arguments
+ * prefixed with {@code -} contain one or more short options, where the last
+ * short option can be followed by a value. Arguments without a prefix are not
+ * considered to be options and are skipped.
+ *
+ * Arguments are read from the source one at a time, i.e. only the argument
+ * containing the current option is kept by the tokenizer.
+ */
+final class ArgumentTokenizer {
+    private static final char PREFIX = '-';
+    private static final char PREFIX_JAVA_OPTION = 'D';
+    private static final char VALUE_SEPARATOR = '=';
+    private static final int MISSING = -1;
+
+    private ArgumentSource source;
+
+    private int argumentIndex = MISSING;
+    private String argument;
+    private int nameStart;
+    private int nameEnd;
+    private int valueStart = MISSING;
+    private int valueEnd = MISSING;
+
+    /**
+     * Offset of the next short option, or -1 if the current argument do not
+     * have any more short options.
+     */
+    private int nextShortName = MISSING;
+    private int shortNamesEnd;
+
+    ArgumentTokenizer(ArgumentSource source) {
+        this.source = source;
+    }
+
+    ArgumentTokenizer(String[] arguments) {
+        this(ArgumentSources.of(arguments));
+    }
+
+    /**
+     * Reset the cursor to the beginning of another source, i.e. to reuse the
+     * tokenizer without allocating a new tokenizer.
+     *
+     * @param source Source of the arguments to tokenize.
+     */
+    void reset(ArgumentSource source) {
+        this.source = source;
+
+        argumentIndex = MISSING;
+        argument = null;
+        nameStart = 0;
+        nameEnd = 0;
+        clearValue();
+        nextShortName = MISSING;
+        shortNamesEnd = 0;
+    }
+
+    private static int indexOfValueSeparator(String argument, int start) {
+        for (int i = start; i < argument.length(); i++) {
+            if (VALUE_SEPARATOR == argument.charAt(i)) {
+                return i;
+            }
+        }
+
+        return MISSING;
+    }
+
+    private static boolean isOption(String argument) {
+        return argument.length() > 1 && PREFIX == argument.charAt(0);
+    }
+
+    private static boolean isJavaOption(String argument) {
+        return PREFIX_JAVA_OPTION == argument.charAt(1);
+    }
+
+    private static boolean isLongName(String argument) {
+        return PREFIX == argument.charAt(1);
+    }
+
+    /**
+     * Advance the cursor to the next option.
+     *
+     * @return True if the cursor was advanced, false if there are no more options.
+     */
+    boolean next() {
+        if (MISSING != nextShortName) {
+            nextShortName();
+            return true;
+        }
+
+        while (nonNull(argument = source.next())) {
+            argumentIndex++;
+            if (!isOption(argument)) {
+                continue;
+            }
+
+            if (isJavaOption(argument) || isLongName(argument)) {
+                tokenizeOption(2);
+                return true;
+            }
+
+            if (tokenizeShortNames()) {
+                return true;
+            }
+        }
+
+        argument = null;
+        return false;
+    }
+
+    private void tokenizeOption(int start) {
+        int separator = indexOfValueSeparator(argument, start);
+
+        nameStart = start;
+        if (MISSING == separator) {
+            nameEnd = argument.length();
+            clearValue();
+            return;
+        }
+
+        nameEnd = separator;
+        valueStart = separator + 1;
+        valueEnd = argument.length();
+    }
+
+    private boolean tokenizeShortNames() {
+        int separator = indexOfValueSeparator(argument, 1);
+        if (1 == separator) {
+            return false;
+        }
+
+        shortNamesEnd = MISSING == separator ? argument.length() : separator;
+        nextShortName = 1;
+        nextShortName();
+        return true;
+    }
+
+    private void nextShortName() {
+        nameStart = nextShortName;
+        nameEnd = nextShortName + 1;
+        clearValue();
+
+        if (nameEnd < shortNamesEnd) {
+            nextShortName = nameEnd;
+            return;
+        }
+
+        nextShortName = MISSING;
+        if (shortNamesEnd < argument.length()) {
+            valueStart = shortNamesEnd + 1;
+            valueEnd = argument.length();
+        }
+    }
+
+    private void clearValue() {
+        valueStart = MISSING;
+        valueEnd = MISSING;
+    }
+
+    /**
+     * @return Argument containing the current option.
+     */
+    String argument() {
+        return argument;
+    }
+
+    /**
+     * @return Index, within the source, of the argument containing the current option.
+     */
+    int argumentIndex() {
+        return argumentIndex;
+    }
+
+    int nameStart() {
+        return nameStart;
+    }
+
+    int nameEnd() {
+        return nameEnd;
+    }
+
+    boolean hasValue() {
+        return MISSING != valueStart;
+    }
+
+    int valueStart() {
+        return valueStart;
+    }
+
+    int valueEnd() {
+        return valueEnd;
+    }
+}
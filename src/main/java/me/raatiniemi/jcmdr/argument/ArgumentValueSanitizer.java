@@ -18,51 +18,246 @@ package me.raatiniemi.jcmdr.argument;
 
 import me.raatiniemi.jcmdr.argument.exception.UnevenQuotesException;
 
+/**
+ * Trim balanced quotes from argument values.
+ *
+ * The value is scanned character by character, a value enclosed in either
+ * single or double quotes have the enclosing quotes removed. Quotes preceded by
+ * a backslash are considered escaped, i.e. they are kept as literal quotes
+ * without the backslash and do not enclose the value.
+ */
 class ArgumentValueSanitizer {
-    private static final String QUOTE_SINGLE = "'";
-    private static final String QUOTE_DOUBLE = "\"";
+    private static final char QUOTE_SINGLE = '\'';
+    private static final char QUOTE_DOUBLE = '"';
+    private static final char ESCAPE = '\\';
+    private static final int MISSING = -1;
 
-    private final String argumentValue;
+    private final String argument;
+    private final int start;
+    private final int end;
 
-    private ArgumentValueSanitizer(String argumentValue) {
-        this.argumentValue = argumentValue;
+    private ArgumentValueSanitizer(String argument, int start, int end) {
+        this.argument = argument;
+        this.start = start;
+        this.end = end;
     }
 
     static String sanitize(String argumentValue) {
-        ArgumentValueSanitizer sanitizer = new ArgumentValueSanitizer(argumentValue);
+        return sanitize(argumentValue, 0, argumentValue.length());
+    }
+
+    /**
+     * Sanitize the argument value found within the region of the argument.
+     *
+     * @param argument Argument containing the argument value.
+     * @param start    Index of the first character of the argument value.
+     * @param end      Index after the last character of the argument value.
+     * @return Argument value without enclosing quotes.
+     * @throws UnevenQuotesException If the argument value have unbalanced quotes.
+     */
+    static String sanitize(String argument, int start, int end) {
+        ArgumentValueSanitizer sanitizer = new ArgumentValueSanitizer(argument, start, end);
 
         return sanitizer.sanitize();
     }
 
-    private static String trimBalancedQuotes(String argumentValue) {
-        if (isEnclosedIn(argumentValue, QUOTE_DOUBLE)) {
-            return trimBalancedQuotes(argumentValue, QUOTE_DOUBLE);
+    /**
+     * Sanitize the argument value found within the region of the argument,
+     * without copying the argument value unless it contain escaped quotes.
+     *
+     * @param argument Argument containing the argument value.
+     * @param start    Index of the first character of the argument value.
+     * @param end      Index after the last character of the argument value.
+     * @return Argument value without enclosing quotes.
+     * @throws UnevenQuotesException If the argument value have unbalanced quotes.
+     */
+    static CharSequence sanitizeView(String argument, int start, int end) {
+        ArgumentValueSanitizer sanitizer = new ArgumentValueSanitizer(argument, start, end);
+
+        return sanitizer.sanitizeView();
+    }
+
+    /**
+     * Find the unbalanced quote within the argument value, without throwing.
+     *
+     * @param argument Argument containing the argument value.
+     * @param start    Index of the first character of the argument value.
+     * @param end      Index after the last character of the argument value.
+     * @return Offset of the unbalanced quote within the argument, or -1 if the quotes are balanced.
+     */
+    static int indexOfUnevenQuote(String argument, int start, int end) {
+        ArgumentValueSanitizer sanitizer = new ArgumentValueSanitizer(argument, start, end);
+
+        return sanitizer.indexOfUnevenQuote();
+    }
+
+    /**
+     * Check that the quotes within the argument value are balanced, the
+     * argument value is only sanitized if they are not.
+     *
+     * @param argument Argument containing the argument value.
+     * @param start    Index of the first character of the argument value.
+     * @param end      Index after the last character of the argument value.
+     * @throws UnevenQuotesException If the argument value have unbalanced quotes.
+     */
+    static void requireEvenQuotes(String argument, int start, int end) {
+        if (MISSING != indexOfUnevenQuote(argument, start, end)) {
+            sanitize(argument, start, end);
+        }
+    }
+
+    /**
+     * Check whether the argument value is enclosed in quotes, assuming the
+     * quotes have been checked to be balanced.
+     *
+     * @param argument Argument containing the argument value.
+     * @param start    Index of the first character of the argument value.
+     * @param end      Index after the last character of the argument value.
+     * @return True if the argument value is enclosed in quotes, otherwise false.
+     */
+    static boolean isQuoted(String argument, int start, int end) {
+        return end - start > 1 && isQuote(argument.charAt(start));
+    }
+
+    private static boolean isQuote(char c) {
+        return QUOTE_DOUBLE == c || QUOTE_SINGLE == c;
+    }
+
+    private static String describe(char quote) {
+        return QUOTE_DOUBLE == quote ? "Double" : "Single";
+    }
+
+    private static UnevenQuotesException unevenQuotes(char quote, int offset) {
+        return new UnevenQuotesException(
+                describe(quote) + " quotes used for argument value is uneven",
+                offset
+        );
+    }
+
+    private String sanitize() {
+        if (start == end) {
+            return "";
+        }
+
+        checkQuotes();
+        if (isQuote(argument.charAt(start))) {
+            return unescape(start + 1, end - 1);
+        }
+
+        return unescape(start, end);
+    }
+
+    private CharSequence sanitizeView() {
+        if (start == end) {
+            return "";
+        }
+
+        checkQuotes();
+        int from = start;
+        int to = end;
+        if (isQuote(argument.charAt(start))) {
+            from++;
+            to--;
+        }
+
+        if (indexOfEscapedQuote(from, to) >= 0) {
+            return unescape(from, to);
+        }
+
+        return new ArgumentValueView(argument, from, to);
+    }
+
+    private void checkQuotes() {
+        int unevenQuote = indexOfUnevenQuote();
+        if (MISSING != unevenQuote) {
+            throw unevenQuotes(argument.charAt(unevenQuote), unevenQuote);
         }
+    }
 
-        if (argumentValue.startsWith(QUOTE_DOUBLE) || argumentValue.endsWith(QUOTE_DOUBLE)) {
-            throw new UnevenQuotesException("Double quotes used for argument value is uneven");
+    private int indexOfUnevenQuote() {
+        if (start == end) {
+            return MISSING;
         }
 
-        if (isEnclosedIn(argumentValue, QUOTE_SINGLE)) {
-            return trimBalancedQuotes(argumentValue, QUOTE_SINGLE);
+        int last = end - 1;
+        char first = argument.charAt(start);
+        if (isQuote(first)) {
+            if (last == start || first != argument.charAt(last) || isEscaped(last)) {
+                return start;
+            }
+
+            return MISSING;
         }
 
-        if (argumentValue.startsWith(QUOTE_SINGLE) || argumentValue.endsWith(QUOTE_SINGLE)) {
-            throw new UnevenQuotesException("Double quotes used for argument value is uneven");
+        if (isUnescapedQuote(last)) {
+            return last;
         }
 
-        return argumentValue;
+        return MISSING;
     }
 
-    private static boolean isEnclosedIn(String argumentValue, String s) {
-        return argumentValue.matches("^(" + s + ")(.*)(" + s + ")$");
+    private boolean isUnescapedQuote(int index) {
+        return isQuote(argument.charAt(index)) && !isEscaped(index);
     }
 
-    private static String trimBalancedQuotes(String argumentValue, String s) {
-        return argumentValue.replaceAll("^(" + s + ")(.*)(" + s + ")$", "$2");
+    /**
+     * Check whether the character is preceded by an odd number of escape
+     * characters, i.e. an escape character that is not itself escaped.
+     */
+    private boolean isEscaped(int index) {
+        boolean escaped = false;
+        for (int i = index - 1; i >= start && ESCAPE == argument.charAt(i); i--) {
+            escaped = !escaped;
+        }
+
+        return escaped;
     }
 
-    private String sanitize() {
-        return trimBalancedQuotes(argumentValue);
+    private String unescape(int from, int to) {
+        int escape = indexOfEscapedQuote(from, to);
+        if (escape < 0) {
+            return argument.substring(from, to);
+        }
+
+        StringBuilder builder = new StringBuilder(to - from);
+        builder.append(argument, from, escape);
+
+        for (int i = escape; i < to; i++) {
+            char c = argument.charAt(i);
+            if (ESCAPE == c && i + 1 < to) {
+                char next = argument.charAt(i + 1);
+                if (isQuote(next)) {
+                    builder.append(next);
+                    i++;
+                    continue;
+                }
+
+                if (ESCAPE == next) {
+                    builder.append(c).append(next);
+                    i++;
+                    continue;
+                }
+            }
+
+            builder.append(c);
+        }
+
+        return builder.toString();
+    }
+
+    private int indexOfEscapedQuote(int from, int to) {
+        for (int i = from; i + 1 < to; i++) {
+            if (ESCAPE != argument.charAt(i)) {
+                continue;
+            }
+
+            if (isQuote(argument.charAt(i + 1))) {
+                return i;
+            }
+
+            i++;
+        }
+
+        return MISSING;
     }
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.argument;
+
+/**
+ * View over the region of an argument containing an argument value, i.e. the
+ * argument value is not copied unless it is converted to a string.
+ *
+ * The view keep a reference to the whole argument, and is compared by
+ * identity, as with other character sequences that are not strings.
+ */
+final class ArgumentValueView implements CharSequence {
+    private final String argument;
+    private final int start;
+    private final int end;
+
+    ArgumentValueView(String argument, int start, int end) {
+        this.argument = argument;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + length());
+        }
+
+        return argument.charAt(start + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length() || start > end) {
+            throw new IndexOutOfBoundsException("Start: " + start + ", End: " + end + ", Length: " + length());
+        }
+
+        return new ArgumentValueView(argument, this.start + start, this.start + end);
+    }
+
+    @Override
+    public String toString() {
+        return argument.substring(start, end);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.argument;
+
+import java.util.Arrays;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Result from parsing one row of arguments in a batch, i.e. either the parse
+ * result or the error from parsing the arguments.
+ */
+public final class BatchResult {
+    private final String[] arguments;
+    private final ParseResult parseResult;
+    private final RuntimeException error;
+
+    private BatchResult(String[] arguments, ParseResult parseResult, RuntimeException error) {
+        this.arguments = arguments;
+        this.parseResult = parseResult;
+        this.error = error;
+    }
+
+    /**
+     * Create the result for arguments that have been parsed.
+     *
+     * @param arguments   Arguments that have been parsed.
+     * @param parseResult Result from parsing the arguments.
+     * @return Successful result for the arguments.
+     */
+    public static BatchResult success(String[] arguments, ParseResult parseResult) {
+        return new BatchResult(arguments, parseResult, null);
+    }
+
+    /**
+     * Create the result for arguments that could not be parsed.
+     *
+     * @param arguments Arguments that could not be parsed.
+     * @param error     Error from parsing the arguments.
+     * @return Failed result for the arguments.
+     */
+    public static BatchResult failure(String[] arguments, RuntimeException error) {
+        return new BatchResult(arguments, null, error);
+    }
+
+    /**
+     * @return Arguments for the row, as passed to the batch.
+     */
+    public String[] getArguments() {
+        return arguments;
+    }
+
+    public boolean isSuccess() {
+        return isNull(error);
+    }
+
+    /**
+     * @return Result from parsing the arguments.
+     * @throws IllegalStateException If the arguments could not be parsed.
+     */
+    public ParseResult getParseResult() {
+        if (nonNull(error)) {
+            throw new IllegalStateException("Arguments could not be parsed", error);
+        }
+
+        return parseResult;
+    }
+
+    /**
+     * @return Error from parsing the arguments, or null if the arguments have been parsed.
+     */
+    public RuntimeException getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        if (isSuccess()) {
+            return Arrays.toString(arguments) + " -> " + parseResult;
+        }
+
+        return Arrays.toString(arguments) + " -> " + error;
+    }
+}
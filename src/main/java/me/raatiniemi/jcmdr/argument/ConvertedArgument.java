@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.argument;
+
+import me.raatiniemi.jcmdr.scheme.SchemeArgument;
+
+/**
+ * Parsed argument where the argument value have already been converted to the
+ * type expected by the argument scheme.
+ */
+final class ConvertedArgument implements ParsedArgument {
+    private final SchemeArgument schemeArgument;
+    private final Object convertedValue;
+
+    ConvertedArgument(SchemeArgument schemeArgument, Object convertedValue) {
+        this.schemeArgument = schemeArgument;
+        this.convertedValue = convertedValue;
+    }
+
+    @Override
+    public SchemeArgument getSchemeArgument() {
+        return schemeArgument;
+    }
+
+    @Override
+    public <T> void call(T target) {
+        schemeArgument.callConverted(target, convertedValue);
+    }
+
+    @Override
+    public String toString() {
+        return schemeArgument.toString();
+    }
+}
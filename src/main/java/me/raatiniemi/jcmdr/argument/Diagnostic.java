@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.argument;
+
+/**
+ * Problem found while validating arguments, located by the index of the
+ * argument and the region within the argument.
+ *
+ * Diagnostics are plain values, i.e. neither a stack trace nor a message is
+ * built when a problem is found. The message is shared by every diagnostic of
+ * the same kind.
+ */
+public final class Diagnostic {
+    private final Kind kind;
+    private final String argument;
+    private final int argumentIndex;
+    private final int start;
+    private final int end;
+
+    Diagnostic(Kind kind, String argument, int argumentIndex, int start, int end) {
+        this.kind = kind;
+        this.argument = argument;
+        this.argumentIndex = argumentIndex;
+        this.start = start;
+        this.end = end;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getMessage() {
+        return kind.getMessage();
+    }
+
+    /**
+     * @return Argument containing the problem.
+     */
+    public String getArgument() {
+        return argument;
+    }
+
+    /**
+     * @return Index, within the arguments, of the argument containing the problem.
+     */
+    public int getArgumentIndex() {
+        return argumentIndex;
+    }
+
+    /**
+     * @return Index, within the argument, of the first character of the problem.
+     */
+    public int getStart() {
+        return start;
+    }
+
+    /**
+     * @return Index, within the argument, after the last character of the problem.
+     */
+    public int getEnd() {
+        return end;
+    }
+
+    @Override
+    public String toString() {
+        return kind.getMessage() + " at argument " + argumentIndex + " [" + start + ", " + end + "): "
+                + argument.substring(start, end);
+    }
+
+    public enum Kind {
+        /**
+         * Option is not part of the argument scheme.
+         */
+        UNKNOWN_OPTION("Unknown option"),
+        /**
+         * Abbreviated long name match more than one long name.
+         */
+        AMBIGUOUS_OPTION("Ambiguous abbreviation of long name"),
+        /**
+         * Argument value have unbalanced quotes.
+         */
+        UNEVEN_QUOTES("Quotes used for argument value is uneven"),
+        /**
+         * Argument value could not be converted to the expected type.
+         */
+        INVALID_VALUE("Argument value could not be converted");
+
+        private final String message;
+
+        Kind(String message) {
+            this.message = message;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.argument;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Decode characters from a memory-mapped file.
+ *
+ * The file is mapped in windows of a fixed size, i.e. files larger than what
+ * can be mapped at once can be read, and decoded directly from the mapped
+ * bytes without first copying them to the heap.
+ */
+final class MappedFileReader extends Reader {
+    private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final CharsetDecoder decoder;
+    private final long windowSize;
+    private final long size;
+
+    /**
+     * Characters decoded, but not yet read, e.g. the low surrogate of a pair
+     * when reading a single character at a time.
+     */
+    private final CharBuffer pending = (CharBuffer) CharBuffer.allocate(2).flip();
+    private MappedByteBuffer window;
+    private long windowPosition;
+    private boolean flushed;
+
+    MappedFileReader(Path path, Charset charset) throws IOException {
+        this(path, charset, WINDOW_SIZE);
+    }
+
+    MappedFileReader(Path path, Charset charset, long windowSize) throws IOException {
+        this.windowSize = windowSize;
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        size = channel.size();
+    }
+
+    private void map() throws IOException {
+        long length = windowSize;
+        if (nonNull(window)) {
+            // Remaining bytes of a partially mapped character are included at
+            // the start of the next window, which is extended to make progress.
+            length += window.remaining();
+            windowPosition += window.position();
+        }
+
+        window = channel.map(
+                FileChannel.MapMode.READ_ONLY,
+                windowPosition,
+                Math.min(length, size - windowPosition)
+        );
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        CharBuffer out = CharBuffer.wrap(buffer, offset, length);
+        if (0 == length) {
+            return 0;
+        }
+
+        if (isNull(window)) {
+            map();
+        }
+
+        readPending(out);
+        while (out.position() == offset && !flushed) {
+            // A surrogate pair do not fit in a single character, i.e. the
+            // decoder would overflow without making progress.
+            boolean decodeToPending = out.remaining() < 2;
+            CharBuffer target = out;
+            if (decodeToPending) {
+                target = pending;
+                target.clear();
+            }
+
+            decode(target);
+
+            if (decodeToPending) {
+                pending.flip();
+                readPending(out);
+            }
+        }
+
+        int read = out.position() - offset;
+        return read > 0 ? read : -1;
+    }
+
+    private void decode(CharBuffer target) throws IOException {
+        boolean endOfInput = windowPosition + window.limit() >= size;
+        CoderResult result = decoder.decode(window, target, endOfInput);
+        if (result.isError()) {
+            result.throwException();
+        }
+
+        if (result.isUnderflow()) {
+            if (endOfInput) {
+                decoder.flush(target);
+                flushed = true;
+            } else {
+                map();
+            }
+        }
+    }
+
+    private void readPending(CharBuffer out) {
+        while (pending.hasRemaining() && out.hasRemaining()) {
+            out.put(pending.get());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
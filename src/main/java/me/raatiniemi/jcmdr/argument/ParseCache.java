@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.argument;
+
+import me.raatiniemi.jcmdr.scheme.Scheme;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Bounded cache of parse results, for arguments that are parsed repeatedly.
+ *
+ * Results are keyed on the identity of the compiled scheme and a copy of the
+ * arguments, i.e. the same cache can be shared between command lines. When the
+ * capacity is reached, the least recently used result is evicted.
+ *
+ * The cache is safe for concurrent use. Parsing is done outside of the lock,
+ * i.e. concurrent misses for the same arguments can parse the arguments more
+ * than once, in which case the first result is kept.
+ */
+public final class ParseCache {
+    private static final String[] NO_ARGUMENTS = new String[0];
+
+    private final int capacity;
+    private final Map<Key, ParseResult> results;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    private ParseCache(int capacity) {
+        this.capacity = capacity;
+
+        results = new LinkedHashMap<Key, ParseResult>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, ParseResult> eldest) {
+                if (size() <= ParseCache.this.capacity) {
+                    return false;
+                }
+
+                evictionCount++;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Create a cache with a maximum number of parse results.
+     *
+     * @param capacity Maximum number of parse results to keep.
+     * @return Cache for parse results.
+     * @throws IllegalArgumentException If the capacity is not positive.
+     */
+    public static ParseCache withCapacity(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity for parse cache must be positive");
+        }
+
+        return new ParseCache(capacity);
+    }
+
+    /**
+     * Get the cached parse result for the arguments, or parse and cache the
+     * result if the arguments have not been parsed with the scheme before.
+     *
+     * @param scheme    Compiled argument scheme used for parsing.
+     * @param arguments Arguments to parse against the argument scheme.
+     * @param parser    Parse the arguments, used if the result is not cached.
+     * @return Parse result for the arguments.
+     */
+    public ParseResult get(Scheme scheme, String[] arguments, Supplier<ParseResult> parser) {
+        Key key = new Key(scheme, isNull(arguments) ? NO_ARGUMENTS : arguments);
+
+        synchronized (results) {
+            ParseResult result = results.get(key);
+            if (nonNull(result)) {
+                hitCount++;
+                return result;
+            }
+
+            missCount++;
+        }
+
+        ParseResult result = parser.get();
+        synchronized (results) {
+            ParseResult previous = results.putIfAbsent(key.copy(), result);
+
+            return isNull(previous) ? result : previous;
+        }
+    }
+
+    public void clear() {
+        synchronized (results) {
+            results.clear();
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int size() {
+        synchronized (results) {
+            return results.size();
+        }
+    }
+
+    public long getHitCount() {
+        synchronized (results) {
+            return hitCount;
+        }
+    }
+
+    public long getMissCount() {
+        synchronized (results) {
+            return missCount;
+        }
+    }
+
+    public long getEvictionCount() {
+        synchronized (results) {
+            return evictionCount;
+        }
+    }
+
+    @Override
+    public String toString() {
+        synchronized (results) {
+            return "{capacity=" + capacity
+                    + ", size=" + results.size()
+                    + ", hitCount=" + hitCount
+                    + ", missCount=" + missCount
+                    + ", evictionCount=" + evictionCount + "}";
+        }
+    }
+
+    private static final class Key {
+        private final Scheme scheme;
+        private final String[] arguments;
+        private final int hashCode;
+
+        private Key(Scheme scheme, String[] arguments) {
+            this.scheme = scheme;
+            this.arguments = arguments;
+
+            hashCode = 31 * System.identityHashCode(scheme) + Arrays.hashCode(arguments);
+        }
+
+        /**
+         * The arguments are copied before the key is cached, since the array
+         * passed for parsing can be modified after the result have been cached.
+         */
+        private Key copy() {
+            return new Key(scheme, arguments.clone());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            Key that = (Key) o;
+            return scheme == that.scheme
+                    && hashCode == that.hashCode
+                    && Arrays.equals(arguments, that.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,564 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.argument;
+
+import me.raatiniemi.jcmdr.argument.exception.UnevenQuotesException;
+import me.raatiniemi.jcmdr.exception.InvalidArgumentValueException;
+import me.raatiniemi.jcmdr.scheme.Scheme;
+import me.raatiniemi.jcmdr.scheme.SchemeArgument;
+import me.raatiniemi.jcmdr.scheme.annotation.Accumulation;
+import me.raatiniemi.jcmdr.scheme.exception.AmbiguousLongNameException;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static me.raatiniemi.jcmdr.argument.ArgumentValueSanitizer.isQuoted;
+import static me.raatiniemi.jcmdr.argument.ArgumentValueSanitizer.requireEvenQuotes;
+import static me.raatiniemi.jcmdr.argument.ArgumentValueSanitizer.sanitize;
+import static me.raatiniemi.jcmdr.argument.ArgumentValueSanitizer.sanitizeView;
+
+/**
+ * Reusable context for parsing arguments, e.g. kept per thread or pooled.
+ *
+ * The parsed options are kept as the ordinal of the scheme argument and the
+ * offsets of the value within the argument, in buffers that grow as needed
+ * and are reused between parses. Once the buffers have grown to fit the
+ * arguments, parsing and applying options without values do not allocate.
+ *
+ * The parsed options are read by index, or with a {@link Visitor}, and are
+ * only sanitized, or wrapped as {@link ParsedArgument}, on demand.
+ *
+ * Repeated options are accumulated as declared by the scheme argument, i.e.
+ * counted and collected options are kept once, in the position where they
+ * first occur, with the occurrences accumulated alongside the buffers.
+ *
+ * The context is neither thread-safe nor reentrant, i.e. it must not be
+ * used for parsing from within a method invoked by the same context.
+ */
+public final class ParseContext {
+    private static final ThreadLocal<ParseContext> CURRENT_THREAD = ThreadLocal.withInitial(ParseContext::new);
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int MISSING = -1;
+
+    private final ArgumentSources.ArraySource source = new ArgumentSources.ArraySource(null);
+    private final ArgumentTokenizer tokenizer = new ArgumentTokenizer(source);
+
+    private Scheme scheme;
+    private int size;
+    private int[] ordinals = new int[INITIAL_CAPACITY];
+    private String[] arguments = new String[INITIAL_CAPACITY];
+    private int[] valueStarts = new int[INITIAL_CAPACITY];
+    private int[] valueEnds = new int[INITIAL_CAPACITY];
+
+    /**
+     * Ordinals of the scheme arguments that have been parsed, one bit per ordinal.
+     */
+    private long[] seen = new long[1];
+
+    /**
+     * Index of the option for accumulated scheme arguments, by ordinal.
+     */
+    private int[] indexes = new int[0];
+
+    /**
+     * Accumulators for counted and collected scheme arguments, by ordinal.
+     */
+    private Accumulator[] accumulators = new Accumulator[0];
+
+    private ParseContext() {
+    }
+
+    public static ParseContext create() {
+        return new ParseContext();
+    }
+
+    /**
+     * Get the context for the current thread, created on first use.
+     *
+     * @return Context for the current thread.
+     */
+    public static ParseContext forCurrentThread() {
+        return CURRENT_THREAD.get();
+    }
+
+    /**
+     * Parse the arguments against the scheme, replacing the options from the
+     * previous parse.
+     *
+     * Identical options are only kept once, in the order they first occur,
+     * unless the scheme argument declare how repeated options are accumulated.
+     *
+     * @param scheme    Compiled argument scheme used for parsing.
+     * @param arguments Arguments to parse against the argument scheme.
+     * @throws UnevenQuotesException      If an argument value have unbalanced quotes.
+     * @throws AmbiguousLongNameException If an abbreviated long name match more than one long name.
+     * @throws InvalidArgumentValueException If a collected value could not be converted.
+     */
+    public void parse(Scheme scheme, String... arguments) {
+        source.reset(arguments);
+        parse(scheme, source);
+    }
+
+    /**
+     * Parse the arguments from the source against the scheme, replacing the
+     * options from the previous parse.
+     *
+     * The source is not closed, and the arguments containing values are
+     * referenced until the context is cleared or reused.
+     *
+     * @param scheme Compiled argument scheme used for parsing.
+     * @param source Source of the arguments to parse against the argument scheme.
+     * @see #parse(Scheme, String...)
+     */
+    public void parse(Scheme scheme, ArgumentSource source) {
+        clearOptions();
+        this.scheme = scheme;
+        if (scheme.isEmpty()) {
+            return;
+        }
+
+        ensureCapacity(scheme.size());
+        tokenizer.reset(source);
+        while (tokenizer.next()) {
+            int ordinal = scheme.indexOf(
+                    tokenizer.argument(),
+                    tokenizer.nameStart(),
+                    tokenizer.nameEnd(),
+                    tokenizer.hasValue()
+            );
+            if (MISSING == ordinal) {
+                continue;
+            }
+
+            if (tokenizer.hasValue()) {
+                requireEvenQuotes(tokenizer.argument(), tokenizer.valueStart(), tokenizer.valueEnd());
+            }
+
+            SchemeArgument schemeArgument = scheme.get(ordinal);
+            if (Accumulator.isAccumulated(schemeArgument)) {
+                accumulate(ordinal, schemeArgument, tokenizer);
+                continue;
+            }
+
+            if (!isDuplicate(ordinal, tokenizer)) {
+                add(ordinal, tokenizer);
+            }
+        }
+    }
+
+    private void ensureCapacity(int schemeSize) {
+        int words = (schemeSize + 63) >>> 6;
+        if (seen.length < words) {
+            seen = new long[words];
+        }
+
+        if (indexes.length < schemeSize) {
+            indexes = new int[schemeSize];
+            accumulators = Arrays.copyOf(accumulators, schemeSize);
+        }
+    }
+
+    /**
+     * Mark the scheme argument as parsed.
+     *
+     * @return True if the scheme argument have already been parsed, otherwise false.
+     */
+    private boolean markSeen(int ordinal) {
+        int word = ordinal >>> 6;
+        long bit = 1L << ordinal;
+        if (0 == (seen[word] & bit)) {
+            seen[word] |= bit;
+            return false;
+        }
+
+        return true;
+    }
+
+    private boolean isDuplicate(int ordinal, ArgumentTokenizer tokenizer) {
+        if (!markSeen(ordinal)) {
+            return false;
+        }
+
+        for (int i = 0; i < size; i++) {
+            if (ordinal == ordinals[i] && isSameValue(i, tokenizer)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private boolean isSameValue(int i, ArgumentTokenizer tokenizer) {
+        String argument = arguments[i];
+        if (!tokenizer.hasValue() || isNull(argument)) {
+            return !tokenizer.hasValue() && isNull(argument);
+        }
+
+        return isSameRegion(
+                argument, valueStarts[i], valueEnds[i],
+                tokenizer.argument(), tokenizer.valueStart(), tokenizer.valueEnd()
+        );
+    }
+
+    /**
+     * Compare the values without the enclosing quotes, i.e. {@code 'value'}
+     * and {@code value} are considered the same value.
+     */
+    private static boolean isSameRegion(String a, int aStart, int aEnd, String b, int bStart, int bEnd) {
+        if (isQuoted(a, aStart, aEnd)) {
+            aStart++;
+            aEnd--;
+        }
+
+        if (isQuoted(b, bStart, bEnd)) {
+            bStart++;
+            bEnd--;
+        }
+
+        int length = aEnd - aStart;
+        return length == bEnd - bStart && a.regionMatches(aStart, b, bStart, length);
+    }
+
+    /**
+     * Options for accumulated scheme arguments are added once, the first
+     * option is kept, or replaced by the last option, or the options are
+     * added to the accumulator for the scheme argument.
+     */
+    private void accumulate(int ordinal, SchemeArgument schemeArgument, ArgumentTokenizer tokenizer) {
+        boolean aggregated = Accumulator.isAggregated(schemeArgument);
+        if (!markSeen(ordinal)) {
+            indexes[ordinal] = size;
+            add(ordinal, tokenizer);
+
+            if (aggregated) {
+                Accumulator accumulator = accumulator(ordinal, schemeArgument);
+                accumulator.reset();
+                accumulate(accumulator, tokenizer);
+            }
+            return;
+        }
+
+        if (aggregated) {
+            accumulate(accumulators[ordinal], tokenizer);
+            return;
+        }
+
+        if (Accumulation.LAST == schemeArgument.getAccumulation()) {
+            replace(indexes[ordinal], tokenizer);
+        }
+    }
+
+    private Accumulator accumulator(int ordinal, SchemeArgument schemeArgument) {
+        Accumulator accumulator = accumulators[ordinal];
+        if (isNull(accumulator) || schemeArgument != accumulator.getSchemeArgument()) {
+            accumulator = new Accumulator(schemeArgument);
+            accumulators[ordinal] = accumulator;
+        }
+
+        return accumulator;
+    }
+
+    private static void accumulate(Accumulator accumulator, ArgumentTokenizer tokenizer) {
+        if (tokenizer.hasValue()) {
+            accumulator.add(tokenizer.argument(), tokenizer.valueStart(), tokenizer.valueEnd());
+            return;
+        }
+
+        accumulator.add(null, MISSING, MISSING);
+    }
+
+    private void replace(int index, ArgumentTokenizer tokenizer) {
+        if (tokenizer.hasValue()) {
+            arguments[index] = tokenizer.argument();
+            valueStarts[index] = tokenizer.valueStart();
+            valueEnds[index] = tokenizer.valueEnd();
+        }
+    }
+
+    private void add(int ordinal, ArgumentTokenizer tokenizer) {
+        if (size == ordinals.length) {
+            grow();
+        }
+
+        ordinals[size] = ordinal;
+        if (tokenizer.hasValue()) {
+            arguments[size] = tokenizer.argument();
+            valueStarts[size] = tokenizer.valueStart();
+            valueEnds[size] = tokenizer.valueEnd();
+        } else {
+            valueStarts[size] = MISSING;
+            valueEnds[size] = MISSING;
+        }
+        size++;
+    }
+
+    private void grow() {
+        int capacity = ordinals.length << 1;
+
+        ordinals = Arrays.copyOf(ordinals, capacity);
+        arguments = Arrays.copyOf(arguments, capacity);
+        valueStarts = Arrays.copyOf(valueStarts, capacity);
+        valueEnds = Arrays.copyOf(valueEnds, capacity);
+    }
+
+    /**
+     * @return Number of options parsed by the previous parse.
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return 0 == size;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * @param index Index of the parsed option, in the order they were parsed.
+     * @return Ordinal, within the scheme, of the scheme argument for the option.
+     */
+    public int ordinal(int index) {
+        checkIndex(index);
+
+        return ordinals[index];
+    }
+
+    /**
+     * @param index Index of the parsed option, in the order they were parsed.
+     * @return Scheme argument for the option.
+     */
+    public SchemeArgument schemeArgument(int index) {
+        checkIndex(index);
+
+        return scheme.get(ordinals[index]);
+    }
+
+    /**
+     * @param index Index of the parsed option, in the order they were parsed.
+     * @return True if the option have a value, otherwise false.
+     */
+    public boolean hasValue(int index) {
+        checkIndex(index);
+
+        return !isNull(arguments[index]);
+    }
+
+    /**
+     * @param index Index of the parsed option, in the order they were parsed.
+     * @return Argument containing the value of the option, or null if the option have no value.
+     */
+    public String argument(int index) {
+        checkIndex(index);
+
+        return arguments[index];
+    }
+
+    /**
+     * @param index Index of the parsed option, in the order they were parsed.
+     * @return Index, within the argument, of the first character of the value, or -1 if the option have no value.
+     */
+    public int valueStart(int index) {
+        checkIndex(index);
+
+        return valueStarts[index];
+    }
+
+    /**
+     * @param index Index of the parsed option, in the order they were parsed.
+     * @return Index, within the argument, after the last character of the value, or -1 if the option have no value.
+     */
+    public int valueEnd(int index) {
+        checkIndex(index);
+
+        return valueEnds[index];
+    }
+
+    /**
+     * Get the value of the option, without the enclosing quotes.
+     *
+     * @param index Index of the parsed option, in the order they were parsed.
+     * @return Value of the option, or null if the option have no value.
+     */
+    public String value(int index) {
+        checkIndex(index);
+
+        String argument = arguments[index];
+        if (isNull(argument)) {
+            return null;
+        }
+
+        return sanitize(argument, valueStarts[index], valueEnds[index]);
+    }
+
+    /**
+     * Wrap the option as a parsed argument, e.g. to keep the option after
+     * the context have been reused. Counted and collected options are
+     * wrapped with the accumulated value.
+     *
+     * @param index Index of the parsed option, in the order they were parsed.
+     * @return Parsed argument for the option.
+     */
+    public ParsedArgument parsedArgument(int index) {
+        SchemeArgument schemeArgument = schemeArgument(index);
+        if (Accumulator.isAggregated(schemeArgument)) {
+            return accumulators[ordinals[index]].toParsedArgument();
+        }
+
+        return new ParsedArgumentImpl.Builder()
+                .schemeArgument(schemeArgument)
+                .argumentValue(value(index))
+                .build();
+    }
+
+    /**
+     * Visit the parsed options, in the order they were parsed. Counted and
+     * collected options are visited with their first occurrence.
+     *
+     * @param visitor Visitor of the parsed options.
+     */
+    public void accept(Visitor visitor) {
+        for (int i = 0; i < size; i++) {
+            int ordinal = ordinals[i];
+            visitor.visit(ordinal, scheme.get(ordinal), arguments[i], valueStarts[i], valueEnds[i]);
+        }
+    }
+
+    /**
+     * Call the methods associated with the parsed options on the target, in
+     * the order they were parsed.
+     *
+     * Methods accepting a {@link CharSequence} receive a view over the
+     * argument, i.e. the value is only copied if the method convert the view
+     * to a string, or if the value contain escaped quotes. Methods for
+     * counted and collected options are called once with the accumulated
+     * value.
+     *
+     * @param target Target class on which to call the methods.
+     * @param <T>    Type reference of the target class.
+     */
+    public <T> void applyTo(T target) {
+        for (int i = 0; i < size; i++) {
+            SchemeArgument schemeArgument = scheme.get(ordinals[i]);
+            if (Accumulator.isAggregated(schemeArgument)) {
+                accumulators[ordinals[i]].call(target);
+                continue;
+            }
+
+            String argument = arguments[i];
+            if (isNull(argument)) {
+                schemeArgument.call(target, null);
+                continue;
+            }
+
+            if (schemeArgument.acceptsCharSequence()) {
+                schemeArgument.callConverted(target, sanitizeView(argument, valueStarts[i], valueEnds[i]));
+                continue;
+            }
+
+            schemeArgument.call(target, sanitize(argument, valueStarts[i], valueEnds[i]));
+        }
+    }
+
+    /**
+     * Wrap the parsed options as parsed arguments. Since identical options
+     * are only kept once, the parsed arguments are not hashed to be unique.
+     */
+    Collection<ParsedArgument> toParsedArguments() {
+        if (isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        ParsedArgument[] parsedArguments = new ParsedArgument[size];
+        for (int i = 0; i < size; i++) {
+            parsedArguments[i] = parsedArgument(i);
+        }
+
+        return new ParsedArgumentSet(parsedArguments);
+    }
+
+    /**
+     * Clear the parsed options, releasing the references to the arguments.
+     * The buffers are kept for the next parse.
+     */
+    public void clear() {
+        clearOptions();
+        source.reset(null);
+        tokenizer.reset(source);
+    }
+
+    private void clearOptions() {
+        for (int i = 0; i < size; i++) {
+            Accumulator accumulator = accumulators[ordinals[i]];
+            if (nonNull(accumulator)) {
+                accumulator.reset();
+            }
+        }
+
+        Arrays.fill(arguments, 0, size, null);
+        Arrays.fill(seen, 0L);
+        size = 0;
+        scheme = null;
+    }
+
+    /**
+     * Visitor of the options within a parse context.
+     */
+    @FunctionalInterface
+    public interface Visitor {
+        /**
+         * Visit a parsed option.
+         *
+         * @param ordinal        Ordinal, within the scheme, of the scheme argument.
+         * @param schemeArgument Scheme argument for the option.
+         * @param argument       Argument containing the value, or null if the option have no value.
+         * @param valueStart     Index of the first character of the value, or -1 if the option have no value.
+         * @param valueEnd       Index after the last character of the value, or -1 if the option have no value.
+         */
+        void visit(int ordinal, SchemeArgument schemeArgument, String argument, int valueStart, int valueEnd);
+    }
+
+    /**
+     * Unmodifiable set of parsed arguments that are already known to be unique.
+     */
+    private static final class ParsedArgumentSet extends AbstractSet<ParsedArgument> {
+        private final ParsedArgument[] parsedArguments;
+
+        private ParsedArgumentSet(ParsedArgument[] parsedArguments) {
+            this.parsedArguments = parsedArguments;
+        }
+
+        @Override
+        public Iterator<ParsedArgument> iterator() {
+            return Arrays.asList(parsedArguments).iterator();
+        }
+
+        @Override
+        public int size() {
+            return parsedArguments.length;
+        }
+    }
+}
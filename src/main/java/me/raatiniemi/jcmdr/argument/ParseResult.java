@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.argument;
+
+import me.raatiniemi.jcmdr.exception.InvalidArgumentValueException;
+import me.raatiniemi.jcmdr.listener.ParseListener;
+import me.raatiniemi.jcmdr.scheme.SchemeArgument;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Result from parsing arguments against an argument scheme.
+ *
+ * The argument values are converted when the result is created, i.e. the
+ * result is immutable and can be applied any number of times, to any number of
+ * targets, without parsing or converting the arguments again.
+ */
+public final class ParseResult {
+    private static final ParseResult EMPTY = new ParseResult(Collections.emptyList());
+
+    private final List<ParsedArgument> arguments;
+
+    private ParseResult(List<ParsedArgument> arguments) {
+        this.arguments = arguments;
+    }
+
+    /**
+     * Create the result from parsed arguments.
+     *
+     * @param parsedArguments Arguments parsed against the argument scheme.
+     * @return Result with the argument values converted.
+     * @throws InvalidArgumentValueException If an argument value could not be converted.
+     */
+    public static ParseResult of(Collection<ParsedArgument> parsedArguments) {
+        return of(parsedArguments, ParseListener.NONE);
+    }
+
+    /**
+     * Create the result from parsed arguments.
+     *
+     * @param parsedArguments Arguments parsed against the argument scheme.
+     * @param listener        Listener notified when argument values have been converted.
+     * @return Result with the argument values converted.
+     * @throws InvalidArgumentValueException If an argument value could not be converted.
+     */
+    public static ParseResult of(Collection<ParsedArgument> parsedArguments, ParseListener listener) {
+        if (isNull(parsedArguments) || parsedArguments.isEmpty()) {
+            return EMPTY;
+        }
+
+        List<ParsedArgument> arguments = new ArrayList<>(parsedArguments.size());
+        for (ParsedArgument parsedArgument : parsedArguments) {
+            arguments.add(convert(parsedArgument, listener));
+        }
+
+        return new ParseResult(Collections.unmodifiableList(arguments));
+    }
+
+    private static ParsedArgument convert(ParsedArgument parsedArgument, ParseListener listener) {
+        if (!(parsedArgument instanceof ParsedArgumentImpl)) {
+            return parsedArgument;
+        }
+
+        ParsedArgumentImpl argument = (ParsedArgumentImpl) parsedArgument;
+        if (ParseListener.NONE == listener || !argument.hasArgumentValue()) {
+            return argument.convert();
+        }
+
+        long start = System.nanoTime();
+        ParsedArgument convertedArgument = argument.convert();
+        listener.valueConverted(argument.getSchemeArgument(), System.nanoTime() - start);
+
+        return convertedArgument;
+    }
+
+    /**
+     * @return Parsed arguments, in the order they were parsed.
+     */
+    public List<ParsedArgument> getArguments() {
+        return arguments;
+    }
+
+    public int size() {
+        return arguments.size();
+    }
+
+    public boolean isEmpty() {
+        return arguments.isEmpty();
+    }
+
+    /**
+     * Call the methods associated with the parsed arguments on the target.
+     *
+     * @param target Target class on which to call the methods.
+     * @param <T>    Type reference of the target class.
+     */
+    public <T> void applyTo(T target) {
+        for (ParsedArgument argument : arguments) {
+            argument.call(target);
+        }
+    }
+
+    /**
+     * Call the methods associated with the parsed arguments on the target.
+     *
+     * @param target   Target class on which to call the methods.
+     * @param listener Listener notified when the methods have been called.
+     * @param <T>      Type reference of the target class.
+     */
+    public <T> void applyTo(T target, ParseListener listener) {
+        if (ParseListener.NONE == listener) {
+            applyTo(target);
+            return;
+        }
+
+        for (ParsedArgument argument : arguments) {
+            argument.call(target, listener);
+        }
+    }
+
+    /**
+     * Call the methods associated with the parsed arguments on the target,
+     * using the executor.
+     *
+     * Methods declared as independent are invoked concurrently, each as a
+     * separate task. The other methods are invoked in the order they were
+     * parsed, one at a time, as a single task. Since methods can be invoked
+     * concurrently, the target must be safe for concurrent use by the
+     * independent methods.
+     *
+     * @param target   Target class on which to call the methods.
+     * @param executor Executor used for invoking the methods.
+     * @param <T>      Type reference of the target class.
+     * @return Future completed when every method have been invoked, or
+     * completed exceptionally with the first failure.
+     */
+    public <T> CompletableFuture<Void> applyToAsync(T target, Executor executor) {
+        return applyToAsync(target, executor, ParseListener.NONE);
+    }
+
+    private static boolean isIndependent(ParsedArgument argument) {
+        SchemeArgument schemeArgument = argument.getSchemeArgument();
+
+        return nonNull(schemeArgument) && schemeArgument.isIndependent();
+    }
+
+    /**
+     * Call the methods associated with the parsed arguments on the target,
+     * using the executor.
+     *
+     * @param target   Target class on which to call the methods.
+     * @param executor Executor used for invoking the methods.
+     * @param listener Listener notified when the methods have been called, or failed.
+     * @param <T>      Type reference of the target class.
+     * @return Future completed when every method have been invoked, or
+     * completed exceptionally with the first failure.
+     * @see #applyToAsync(Object, Executor)
+     */
+    public <T> CompletableFuture<Void> applyToAsync(T target, Executor executor, ParseListener listener) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        List<ParsedArgument> ordered = new ArrayList<>();
+
+        for (ParsedArgument argument : arguments) {
+            if (isIndependent(argument)) {
+                futures.add(CompletableFuture.runAsync(() -> argument.call(target, listener), executor));
+                continue;
+            }
+
+            ordered.add(argument);
+        }
+
+        if (!ordered.isEmpty()) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (ParsedArgument argument : ordered) {
+                    argument.call(target, listener);
+                }
+            }, executor));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+
+    @Override
+    public String toString() {
+        return arguments.toString();
+    }
+}
@@ -16,10 +16,23 @@
 
 package me.raatiniemi.jcmdr.argument;
 
+import me.raatiniemi.jcmdr.listener.ParseListener;
+import me.raatiniemi.jcmdr.scheme.SchemeArgument;
+
+import static java.util.Objects.isNull;
+
 /**
  * Represents an argument parsed from the arguments and argument scheme.
  */
 public interface ParsedArgument {
+    /**
+     * @return Scheme argument matching the parsed argument, or null if the
+     * parsed argument is not associated with a scheme argument.
+     */
+    default SchemeArgument getSchemeArgument() {
+        return null;
+    }
+
     /**
      * Call the method associated with the parsed argument.
      *
@@ -27,4 +40,30 @@ public interface ParsedArgument {
      * @param <T>    Type reference of the target class.
      */
     <T> void call(T target);
+
+    /**
+     * Call the method associated with the parsed argument, and notify the
+     * listener about the invocation. The listener is only notified for parsed
+     * arguments associated with a scheme argument.
+     *
+     * @param target   Target class on which to call the method.
+     * @param listener Listener notified when the method have been called, or failed.
+     * @param <T>      Type reference of the target class.
+     */
+    default <T> void call(T target, ParseListener listener) {
+        SchemeArgument schemeArgument = getSchemeArgument();
+        if (ParseListener.NONE == listener || isNull(schemeArgument)) {
+            call(target);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            call(target);
+        } catch (RuntimeException e) {
+            listener.handlerFailed(schemeArgument, e, System.nanoTime() - start);
+            throw e;
+        }
+        listener.handlerInvoked(schemeArgument, System.nanoTime() - start);
+    }
 }
@@ -20,6 +20,9 @@ import me.raatiniemi.jcmdr.scheme.SchemeArgument;
 
 import java.util.Objects;
 
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
 final class ParsedArgumentImpl implements ParsedArgument {
     private final SchemeArgument schemeArgument;
     private final String argumentValue;
@@ -32,11 +35,42 @@ final class ParsedArgumentImpl implements ParsedArgument {
         this.argumentValue = argumentValue;
     }
 
+    @Override
+    public SchemeArgument getSchemeArgument() {
+        return schemeArgument;
+    }
+
     @Override
     public <T> void call(T target) {
         schemeArgument.call(target, argumentValue);
     }
 
+    boolean hasArgumentValue() {
+        return nonNull(argumentValue);
+    }
+
+    /**
+     * Check whether the argument value can be converted, without throwing.
+     *
+     * @return False if the argument value can not be converted, otherwise true.
+     */
+    boolean isValidValue() {
+        return isNull(argumentValue) || schemeArgument.isValidValue(argumentValue);
+    }
+
+    /**
+     * Convert the argument value to the type expected by the argument scheme.
+     *
+     * @return Parsed argument with the converted argument value.
+     */
+    ParsedArgument convert() {
+        if (isNull(argumentValue)) {
+            return this;
+        }
+
+        return new ConvertedArgument(schemeArgument, schemeArgument.convert(argumentValue));
+    }
+
     @Override
     public String toString() {
         return schemeArgument.toString();
@@ -82,7 +116,7 @@ final class ParsedArgumentImpl implements ParsedArgument {
             return this;
         }
 
-        ParsedArgument build() {
+        ParsedArgumentImpl build() {
             return new ParsedArgumentImpl(schemeArgument, argumentValue);
         }
     }
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.argument;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+
+/**
+ * Read whitespace separated arguments from a reader.
+ */
+final class ReaderSource implements ArgumentSource {
+    private static final int END_OF_STREAM = -1;
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder argument = new StringBuilder();
+    private int position;
+    private int limit;
+
+    ReaderSource(Reader reader) {
+        this.reader = reader;
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+
+            if (limit <= 0) {
+                limit = 0;
+                return END_OF_STREAM;
+            }
+        }
+
+        return buffer[position++];
+    }
+
+    private void skipLine() throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (END_OF_STREAM != c && '\n' != c && '\r' != c);
+    }
+
+    private void readQuoted(int quote) throws IOException {
+        int c;
+        while (quote != (c = read())) {
+            if (END_OF_STREAM == c) {
+                throw new IOException("Quotes used for argument are uneven");
+            }
+
+            if ('\\' == c) {
+                c = read();
+                if (END_OF_STREAM == c) {
+                    throw new IOException("Escape character used at end of arguments");
+                }
+            }
+            argument.append((char) c);
+        }
+    }
+
+    @Override
+    public String next() {
+        try {
+            int c = read();
+            while (END_OF_STREAM != c && (Character.isWhitespace(c) || '#' == c)) {
+                if ('#' == c) {
+                    skipLine();
+                }
+                c = read();
+            }
+            if (END_OF_STREAM == c) {
+                return null;
+            }
+
+            argument.setLength(0);
+            while (END_OF_STREAM != c && !Character.isWhitespace(c)) {
+                if ('"' == c || '\'' == c) {
+                    readQuoted(c);
+                } else {
+                    argument.append((char) c);
+                }
+                c = read();
+            }
+
+            return argument.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.argument;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result from validating arguments against an argument scheme, i.e. every
+ * problem found within the arguments together with the arguments that have
+ * been parsed without problems.
+ */
+public final class ValidationResult {
+    private final ParseResult parseResult;
+    private final List<Diagnostic> diagnostics;
+
+    ValidationResult(ParseResult parseResult, List<Diagnostic> diagnostics) {
+        this.parseResult = parseResult;
+        this.diagnostics = Collections.unmodifiableList(diagnostics);
+    }
+
+    public boolean isValid() {
+        return diagnostics.isEmpty();
+    }
+
+    /**
+     * @return Problems found within the arguments, in the order of the arguments.
+     */
+    public List<Diagnostic> getDiagnostics() {
+        return diagnostics;
+    }
+
+    /**
+     * Get the arguments that have been parsed without problems.
+     *
+     * When the arguments are not valid, the result only contain the
+     * arguments that have been parsed, i.e. it should only be applied if
+     * partially applying the arguments is acceptable.
+     *
+     * @return Result from parsing the arguments without problems.
+     */
+    public ParseResult getParseResult() {
+        return parseResult;
+    }
+
+    @Override
+    public String toString() {
+        return diagnostics.toString();
+    }
+}
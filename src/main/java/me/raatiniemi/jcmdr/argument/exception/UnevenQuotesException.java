@@ -17,7 +17,24 @@
 package me.raatiniemi.jcmdr.argument.exception;
 
 public class UnevenQuotesException extends RuntimeException {
+    private final int offset;
+
     public UnevenQuotesException(String message) {
+        this(message, -1);
+    }
+
+    public UnevenQuotesException(String message, int offset) {
         super(message);
+
+        this.offset = offset;
+    }
+
+    /**
+     * Get the offset of the unbalanced quote within the argument.
+     *
+     * @return Offset of the unbalanced quote, or -1 if the offset is unknown.
+     */
+    public int getOffset() {
+        return offset;
     }
 }
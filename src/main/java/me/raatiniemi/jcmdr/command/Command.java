@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.command;
+
+import me.raatiniemi.jcmdr.CommandLine;
+import me.raatiniemi.jcmdr.command.exception.InvalidCommandException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static me.raatiniemi.jcmdr.helper.Strings.isNullOrEmpty;
+
+/**
+ * Represent a command, or subcommand, selected with the leading operands.
+ *
+ * The command line for the target class is compiled when the command is first
+ * routed to, i.e. routing to one command do not compile the scheme for any of
+ * the other commands.
+ */
+public final class Command {
+    private static final char PREFIX = '-';
+
+    private final String name;
+    private final List<String> aliases;
+    private final Class<?> target;
+    private final Supplier<?> factory;
+    private final List<Command> subcommands;
+
+    private volatile CommandLine<Object> commandLine;
+
+    private Command(Builder builder) {
+        name = builder.name;
+        aliases = Collections.unmodifiableList(new ArrayList<>(builder.aliases));
+        target = builder.target;
+        factory = builder.factory;
+        subcommands = Collections.unmodifiableList(new ArrayList<>(builder.subcommands));
+    }
+
+    /**
+     * Build a command.
+     *
+     * @param name Name of the command, i.e. the operand selecting the command.
+     * @return Builder for the command.
+     */
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    private static String validateName(String name) {
+        if (isNullOrEmpty(name)) {
+            throw new InvalidCommandException("Command name must be supplied");
+        }
+
+        if (PREFIX == name.charAt(0)) {
+            throw new InvalidCommandException("Command name can not start with " + PREFIX);
+        }
+
+        for (int i = 0; i < name.length(); i++) {
+            if (Character.isWhitespace(name.charAt(i))) {
+                throw new InvalidCommandException("Command name can not contain whitespace");
+            }
+        }
+
+        return name;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CommandLine<Object> compile(Class<?> target) {
+        return CommandLine.compile((Class<Object>) target);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getAliases() {
+        return aliases;
+    }
+
+    public List<Command> getSubcommands() {
+        return subcommands;
+    }
+
+    /**
+     * @return True if the command have a target, false if the command only groups subcommands.
+     */
+    public boolean isRunnable() {
+        return nonNull(target);
+    }
+
+    /**
+     * Create the target, and apply the arguments to it.
+     *
+     * @param args Arguments following the operands that selected the command.
+     * @return Target with the arguments applied.
+     */
+    Object apply(String[] args) {
+        Object instance = factory.get();
+        getCommandLine().apply(instance, args);
+
+        return instance;
+    }
+
+    private CommandLine<Object> getCommandLine() {
+        CommandLine<Object> commandLine = this.commandLine;
+        if (isNull(commandLine)) {
+            commandLine = compile(target);
+            this.commandLine = commandLine;
+        }
+
+        return commandLine;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    public static final class Builder {
+        private final String name;
+        private final List<String> aliases = new ArrayList<>();
+        private final List<Command> subcommands = new ArrayList<>();
+        private Class<?> target;
+        private Supplier<?> factory;
+
+        private Builder(String name) {
+            this.name = validateName(name);
+        }
+
+        public Builder alias(String alias) {
+            aliases.add(validateName(alias));
+            return this;
+        }
+
+        /**
+         * Set the target of the command, without a target the command only
+         * groups subcommands.
+         *
+         * @param target  Class used for parsing the argument scheme.
+         * @param factory Factory for the instance on which to apply the arguments.
+         * @param <T>     Type reference used for parsing the argument scheme.
+         * @return Builder for the command.
+         */
+        public <T> Builder target(Class<T> target, Supplier<? extends T> factory) {
+            if (isNull(target) || isNull(factory)) {
+                throw new InvalidCommandException("Command target and factory must be supplied");
+            }
+
+            this.target = target;
+            this.factory = factory;
+            return this;
+        }
+
+        public Builder subcommand(Command subcommand) {
+            subcommands.add(subcommand);
+            return this;
+        }
+
+        public Command build() {
+            if (isNull(target) && subcommands.isEmpty()) {
+                throw new InvalidCommandException(
+                        "Command must have a target and/or subcommands"
+                );
+            }
+
+            return new Command(this);
+        }
+    }
+}
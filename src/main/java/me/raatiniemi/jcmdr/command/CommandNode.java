@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.command;
+
+import me.raatiniemi.jcmdr.command.exception.InvalidCommandException;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Node within the trie of commands, keyed on the operands selecting the
+ * command. Aliases share the node of the command.
+ */
+final class CommandNode {
+    private final Command command;
+    private final int depth;
+    private final Map<String, CommandNode> children = new HashMap<>();
+
+    private CommandNode(Command command, int depth) {
+        this.command = command;
+        this.depth = depth;
+    }
+
+    static CommandNode root(Collection<Command> commands) {
+        CommandNode root = new CommandNode(null, 0);
+        root.addAll(commands);
+
+        return root;
+    }
+
+    private void addAll(Collection<Command> commands) {
+        for (Command command : commands) {
+            CommandNode node = new CommandNode(command, depth + 1);
+            node.addAll(command.getSubcommands());
+
+            put(command.getName(), node);
+            for (String alias : command.getAliases()) {
+                put(alias, node);
+            }
+        }
+    }
+
+    private void put(String name, CommandNode node) {
+        CommandNode previous = children.putIfAbsent(name, node);
+        if (nonNull(previous)) {
+            throw new InvalidCommandException(
+                    "Command name \"" + name + "\" is used by multiple commands"
+            );
+        }
+    }
+
+    CommandNode child(String name) {
+        return children.get(name);
+    }
+
+    Command getCommand() {
+        return command;
+    }
+
+    /**
+     * @return Number of operands used for selecting the command.
+     */
+    int getDepth() {
+        return depth;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.command;
+
+import me.raatiniemi.jcmdr.command.exception.UnknownCommandException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Route arguments to commands, e.g. {@code tool remote add --name=origin}.
+ *
+ * The leading operands, i.e. arguments without a prefix, are matched against
+ * the trie of commands and subcommands. The deepest command that matches the
+ * operands is selected, and the remaining arguments are applied to a new
+ * instance of the target for the command.
+ */
+public final class CommandRouter {
+    private static final char PREFIX = '-';
+
+    private final CommandNode root;
+
+    private CommandRouter(List<Command> commands) {
+        root = CommandNode.root(commands);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private static boolean isOperand(String argument) {
+        return nonNull(argument) && !argument.isEmpty() && PREFIX != argument.charAt(0);
+    }
+
+    /**
+     * Find the command selected by the leading operands.
+     *
+     * @param args Arguments used for selecting the command.
+     * @return Command selected by the arguments.
+     * @throws UnknownCommandException If the arguments do not select a runnable command.
+     */
+    public Command resolve(String... args) {
+        return resolveNode(args).getCommand();
+    }
+
+    /**
+     * Route the arguments to the selected command.
+     *
+     * @param args Arguments to route.
+     * @return Instance of the command target, with the arguments applied.
+     * @throws UnknownCommandException If the arguments do not select a runnable command.
+     */
+    public Object route(String... args) {
+        CommandNode node = resolveNode(args);
+
+        return node.getCommand().apply(Arrays.copyOfRange(args, node.getDepth(), args.length));
+    }
+
+    private CommandNode resolveNode(String[] args) {
+        CommandNode node = root;
+        if (nonNull(args)) {
+            for (String argument : args) {
+                CommandNode child = isOperand(argument) ? node.child(argument) : null;
+                if (isNull(child)) {
+                    break;
+                }
+                node = child;
+            }
+        }
+
+        if (root == node) {
+            throw new UnknownCommandException("No command found for arguments");
+        }
+
+        if (!node.getCommand().isRunnable()) {
+            throw new UnknownCommandException(
+                    "Command \"" + node.getCommand().getName() + "\" requires a subcommand"
+            );
+        }
+
+        return node;
+    }
+
+    public static final class Builder {
+        private final List<Command> commands = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder command(Command command) {
+            commands.add(command);
+            return this;
+        }
+
+        public CommandRouter build() {
+            return new CommandRouter(commands);
+        }
+    }
+}
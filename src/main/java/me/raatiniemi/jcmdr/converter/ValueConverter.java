@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.converter;
+
+/**
+ * Convert argument values into the parameter type of the annotated method.
+ *
+ * Implementations can be registered using {@link ValueConverters#register} or
+ * as a service, i.e. listed in {@code META-INF/services/me.raatiniemi.jcmdr.converter.ValueConverter}.
+ * The converter is resolved once when the argument scheme is compiled.
+ *
+ * @param <T> Type that the argument value is converted to.
+ */
+public interface ValueConverter<T> {
+    /**
+     * Get the type that the argument value is converted to.
+     *
+     * @return Type that the argument value is converted to.
+     */
+    Class<T> getType();
+
+    /**
+     * Convert the argument value.
+     *
+     * @param argumentValue Argument value to convert.
+     * @return Converted argument value.
+     * @throws IllegalArgumentException If the argument value can not be converted.
+     */
+    T convert(String argumentValue);
+}
@@ -0,0 +1,368 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.converter;
+
+import me.raatiniemi.jcmdr.exception.InvalidArgumentValueException;
+import me.raatiniemi.jcmdr.helper.Numbers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static me.raatiniemi.jcmdr.helper.Numbers.isDecimal;
+
+/**
+ * Resolve the conversion of argument values into method parameter types.
+ *
+ * Conversions are resolved as method handles taking the argument value and
+ * returning the parameter type. For primitive types the handle returns the
+ * primitive value, i.e. the value is never boxed when the conversion is used
+ * as a filter for the method handle of the annotated method.
+ *
+ * Built-in conversions are available for {@code String}, {@code CharSequence},
+ * {@code int}, {@code long}, {@code double}, {@code boolean} and their wrapper
+ * types, enums, {@link Path} and {@link Duration}. Registered converters take
+ * precedence over the built-in conversions.
+ *
+ * Values for {@link ByteBuffer}, {@link MappedByteBuffer},
+ * {@link ReadableByteChannel}, {@link FileChannel} and {@link InputStream} are
+ * given as a path prefixed with {@code @}, e.g. {@code --config=@config.bin},
+ * and the file is opened, read-only, when the value is converted. Buffers are
+ * memory-mapped, i.e. the content of the file is not read into the heap.
+ *
+ * The built-in conversions can also be checked without converting the value,
+ * i.e. invalid values are detected without throwing.
+ */
+public final class ValueConverters {
+    private static final char PREFIX_FILE = '@';
+    private static final Set<Class<?>> OPENED_FROM_FILE = new HashSet<>(Arrays.asList(
+            ByteBuffer.class,
+            MappedByteBuffer.class,
+            ReadableByteChannel.class,
+            FileChannel.class,
+            InputStream.class
+    ));
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodHandle IDENTITY = MethodHandles.identity(String.class);
+    private static final Map<Class<?>, MethodHandle> BUILT_IN = createBuiltInConversions();
+    private static final Map<Class<?>, ValueConverter<?>> REGISTERED = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Predicate<String>> BUILT_IN_CHECKS = createBuiltInChecks();
+
+    /**
+     * Syntax accepted by {@link Duration#parse(CharSequence)}.
+     */
+    private static final Pattern DURATION = Pattern.compile(
+            "[-+]?P(?:[-+]?[0-9]+D)?(?:T(?:[-+]?[0-9]+H)?(?:[-+]?[0-9]+M)?(?:[-+]?[0-9]+(?:[.,][0-9]{0,9})?S)?)?",
+            Pattern.CASE_INSENSITIVE
+    );
+    private static final MethodHandle CONVERT;
+    private static final MethodHandle ENUM_VALUE_OF;
+    private static final MethodHandle CONVERSION_FAILED;
+
+    static {
+        try {
+            CONVERT = LOOKUP.findVirtual(
+                    ValueConverter.class,
+                    "convert",
+                    MethodType.methodType(Object.class, String.class)
+            );
+            ENUM_VALUE_OF = LOOKUP.findStatic(
+                    Enum.class,
+                    "valueOf",
+                    MethodType.methodType(Enum.class, Class.class, String.class)
+            );
+            CONVERSION_FAILED = LOOKUP.findStatic(
+                    ValueConverters.class,
+                    "conversionFailed",
+                    MethodType.methodType(Object.class, Class.class, RuntimeException.class, String.class)
+            );
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+
+        for (ValueConverter<?> converter : ServiceLoader.load(ValueConverter.class)) {
+            REGISTERED.putIfAbsent(converter.getType(), converter);
+        }
+    }
+
+    private ValueConverters() {
+    }
+
+    private static Map<Class<?>, MethodHandle> createBuiltInConversions() {
+        try {
+            Map<Class<?>, MethodHandle> conversions = new HashMap<>();
+            conversions.put(String.class, IDENTITY);
+            conversions.put(CharSequence.class, IDENTITY.asType(MethodType.methodType(CharSequence.class, String.class)));
+            conversions.put(int.class, findStatic(Integer.class, "parseInt", int.class));
+            conversions.put(Integer.class, findStatic(Integer.class, "valueOf", Integer.class));
+            conversions.put(long.class, findStatic(Long.class, "parseLong", long.class));
+            conversions.put(Long.class, findStatic(Long.class, "valueOf", Long.class));
+            conversions.put(double.class, findStatic(Double.class, "parseDouble", double.class));
+            conversions.put(Double.class, findStatic(Double.class, "valueOf", Double.class));
+            conversions.put(boolean.class, findStatic(ValueConverters.class, "parseBoolean", boolean.class));
+            conversions.put(
+                    Boolean.class,
+                    findStatic(ValueConverters.class, "parseBoolean", boolean.class)
+                            .asType(MethodType.methodType(Boolean.class, String.class))
+            );
+            conversions.put(
+                    Path.class,
+                    MethodHandles.insertArguments(
+                            LOOKUP.findStatic(
+                                    Paths.class,
+                                    "get",
+                                    MethodType.methodType(Path.class, String.class, String[].class)
+                            ),
+                            1,
+                            (Object) new String[0]
+                    )
+            );
+            conversions.put(
+                    Duration.class,
+                    LOOKUP.findStatic(
+                            Duration.class,
+                            "parse",
+                            MethodType.methodType(Duration.class, CharSequence.class)
+                    ).asType(MethodType.methodType(Duration.class, String.class))
+            );
+
+            MethodHandle mapFile = findStatic(ValueConverters.class, "mapFile", MappedByteBuffer.class);
+            conversions.put(MappedByteBuffer.class, mapFile);
+            conversions.put(ByteBuffer.class, mapFile.asType(MethodType.methodType(ByteBuffer.class, String.class)));
+
+            MethodHandle openChannel = findStatic(ValueConverters.class, "openChannel", FileChannel.class);
+            conversions.put(FileChannel.class, openChannel);
+            conversions.put(
+                    ReadableByteChannel.class,
+                    openChannel.asType(MethodType.methodType(ReadableByteChannel.class, String.class))
+            );
+            conversions.put(InputStream.class, findStatic(ValueConverters.class, "openInputStream", InputStream.class));
+
+            return conversions;
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static Map<Class<?>, Predicate<String>> createBuiltInChecks() {
+        Predicate<String> isInt = value -> isDecimal(value, 0, value.length(), Integer.MIN_VALUE, Integer.MAX_VALUE);
+        Predicate<String> isLong = value -> isDecimal(value, 0, value.length(), Long.MIN_VALUE, Long.MAX_VALUE);
+        Predicate<String> isBoolean = value -> Boolean.TRUE.toString().equalsIgnoreCase(value)
+                || Boolean.FALSE.toString().equalsIgnoreCase(value);
+        Predicate<String> isArgumentFile = value -> value.length() > 1 && PREFIX_FILE == value.charAt(0);
+
+        Map<Class<?>, Predicate<String>> checks = new HashMap<>();
+        checks.put(String.class, value -> true);
+        checks.put(CharSequence.class, value -> true);
+        checks.put(int.class, isInt);
+        checks.put(Integer.class, isInt);
+        checks.put(long.class, isLong);
+        checks.put(Long.class, isLong);
+        checks.put(double.class, Numbers::isFloatingPoint);
+        checks.put(Double.class, Numbers::isFloatingPoint);
+        checks.put(boolean.class, isBoolean);
+        checks.put(Boolean.class, isBoolean);
+        checks.put(Path.class, value -> value.indexOf('\0') < 0);
+        checks.put(Duration.class, value -> DURATION.matcher(value).matches());
+        for (Class<?> type : OPENED_FROM_FILE) {
+            checks.put(type, isArgumentFile);
+        }
+
+        return checks;
+    }
+
+    private static MethodHandle findStatic(Class<?> type, String name, Class<?> returnType)
+            throws NoSuchMethodException, IllegalAccessException {
+        return LOOKUP.findStatic(type, name, MethodType.methodType(returnType, String.class));
+    }
+
+    @SuppressWarnings("unused")
+    private static boolean parseBoolean(String argumentValue) {
+        if (Boolean.TRUE.toString().equalsIgnoreCase(argumentValue)) {
+            return true;
+        }
+
+        if (Boolean.FALSE.toString().equalsIgnoreCase(argumentValue)) {
+            return false;
+        }
+
+        throw new IllegalArgumentException("Expected either true or false");
+    }
+
+    private static Path argumentFile(String argumentValue) {
+        if (argumentValue.length() < 2 || PREFIX_FILE != argumentValue.charAt(0)) {
+            throw new IllegalArgumentException("Expected a path prefixed with " + PREFIX_FILE);
+        }
+
+        return Paths.get(argumentValue.substring(1));
+    }
+
+    @SuppressWarnings("unused")
+    private static MappedByteBuffer mapFile(String argumentValue) {
+        try (FileChannel channel = FileChannel.open(argumentFile(argumentValue), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static FileChannel openChannel(String argumentValue) {
+        try {
+            return FileChannel.open(argumentFile(argumentValue), StandardOpenOption.READ);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static InputStream openInputStream(String argumentValue) {
+        try {
+            return Files.newInputStream(argumentFile(argumentValue), StandardOpenOption.READ);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static Object conversionFailed(Class<?> type, RuntimeException e, String argumentValue) {
+        throw InvalidArgumentValueException.unableToConvert(argumentValue, type, e);
+    }
+
+    /**
+     * Check whether values of the type are opened from a file by the built-in
+     * conversions, i.e. the converted value should be converted as late as
+     * possible, and closed once used.
+     *
+     * @param type Type to convert argument values to.
+     * @return True if the values are opened from a file, otherwise false.
+     */
+    public static boolean isOpenedFromFile(Class<?> type) {
+        return OPENED_FROM_FILE.contains(type) && !REGISTERED.containsKey(type);
+    }
+
+    /**
+     * Register a converter, replacing any previous converter for the same type.
+     *
+     * The converter is only used for schemes compiled after the registration.
+     *
+     * @param converter Converter to register.
+     */
+    public static void register(ValueConverter<?> converter) {
+        REGISTERED.put(converter.getType(), converter);
+    }
+
+    /**
+     * Find the conversion for the type.
+     *
+     * Failed conversions are reported as {@link InvalidArgumentValueException}.
+     *
+     * @param type Type to convert argument values to.
+     * @return Method handle of type {@code (String)type}, or null if the type
+     * can not be converted.
+     */
+    public static MethodHandle find(Class<?> type) {
+        MethodHandle conversion = findConversion(type);
+        if (isNull(conversion)) {
+            return null;
+        }
+
+        if (IDENTITY == conversion) {
+            return conversion;
+        }
+
+        MethodHandle conversionFailed = MethodHandles.insertArguments(CONVERSION_FAILED, 0, type)
+                .asType(MethodType.methodType(type, RuntimeException.class, String.class));
+        return MethodHandles.catchException(conversion, RuntimeException.class, conversionFailed);
+    }
+
+    /**
+     * Find the check of argument values for the type, i.e. for detecting
+     * values that can not be converted without throwing.
+     *
+     * Values passing the check may still fail the conversion, e.g. files that
+     * can not be opened. Types with a registered converter have no check.
+     *
+     * @param type Type to convert argument values to.
+     * @return Check returning false for values that can not be converted, or
+     * null if the type have no check.
+     */
+    public static Predicate<String> findCheck(Class<?> type) {
+        if (REGISTERED.containsKey(type)) {
+            return null;
+        }
+
+        Predicate<String> check = BUILT_IN_CHECKS.get(type);
+        if (nonNull(check)) {
+            return check;
+        }
+
+        if (type.isEnum()) {
+            Set<String> names = new HashSet<>();
+            for (Object constant : type.getEnumConstants()) {
+                names.add(((Enum<?>) constant).name());
+            }
+
+            return names::contains;
+        }
+
+        return null;
+    }
+
+    private static MethodHandle findConversion(Class<?> type) {
+        ValueConverter<?> converter = REGISTERED.get(type);
+        if (nonNull(converter)) {
+            return CONVERT.bindTo(converter)
+                    .asType(MethodType.methodType(type, String.class));
+        }
+
+        MethodHandle conversion = BUILT_IN.get(type);
+        if (nonNull(conversion)) {
+            return conversion;
+        }
+
+        if (type.isEnum()) {
+            return MethodHandles.insertArguments(ENUM_VALUE_OF, 0, type)
+                    .asType(MethodType.methodType(type, String.class));
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.exception;
+
+/**
+ * Represent an exception for argument values that could not be converted into
+ * the parameter type of the annotated method.
+ *
+ * The exception do not fill in its stack trace, since the cause already have
+ * the stack trace of the failed conversion.
+ */
+public class InvalidArgumentValueException extends RuntimeException {
+    private static final int MAX_VALUE_LENGTH = 64;
+    private static final String ELLIPSIS = "...";
+
+    public InvalidArgumentValueException(String message, Throwable cause) {
+        super(message, cause, false, false);
+    }
+
+    /**
+     * Create the exception for an argument value that could not be converted,
+     * with long values truncated in the message.
+     *
+     * @param argumentValue Argument value that could not be converted.
+     * @param type          Type that the argument value was converted to.
+     * @param cause         Exception thrown by the conversion.
+     * @return Exception for the argument value.
+     */
+    public static InvalidArgumentValueException unableToConvert(
+            CharSequence argumentValue,
+            Class<?> type,
+            Throwable cause
+    ) {
+        return new InvalidArgumentValueException(
+                "Unable to convert '" + truncate(argumentValue) + "' to " + type.getSimpleName(),
+                cause
+        );
+    }
+
+    private static String truncate(CharSequence argumentValue) {
+        if (argumentValue.length() <= MAX_VALUE_LENGTH) {
+            return argumentValue.toString();
+        }
+
+        return argumentValue.subSequence(0, MAX_VALUE_LENGTH) + ELLIPSIS;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.helper;
+
+/**
+ * Check and parse numbers within a region of a character sequence, without
+ * copying the region or throwing for invalid numbers.
+ */
+public final class Numbers {
+    private Numbers() {
+    }
+
+    /**
+     * Check whether the region is a decimal number within the range, using
+     * the same syntax as {@link Long#parseLong(String)}.
+     *
+     * @param value Character sequence containing the number.
+     * @param start Index of the first character of the number.
+     * @param end   Index after the last character of the number.
+     * @param min   Minimum value of the number.
+     * @param max   Maximum value of the number.
+     * @return True if the region is a decimal number within the range, otherwise false.
+     */
+    public static boolean isDecimal(CharSequence value, int start, int end, long min, long max) {
+        int i = skipSign(value, start, end);
+        if (i == end) {
+            return false;
+        }
+
+        boolean negative = '-' == value.charAt(start);
+        long limit = negative ? min : -max;
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        for (; i < end; i++) {
+            int digit = Character.digit(value.charAt(i), 10);
+            if (digit < 0 || result < multiplyLimit) {
+                return false;
+            }
+
+            result *= 10;
+            if (result < limit + digit) {
+                return false;
+            }
+            result -= digit;
+        }
+
+        return true;
+    }
+
+    /**
+     * Parse the decimal number within the region, the region must have been
+     * checked with {@link #isDecimal(CharSequence, int, int, long, long)}.
+     *
+     * @param value Character sequence containing the number.
+     * @param start Index of the first character of the number.
+     * @param end   Index after the last character of the number.
+     * @return Number within the region.
+     */
+    public static long parseDecimal(CharSequence value, int start, int end) {
+        long result = 0;
+        for (int i = skipSign(value, start, end); i < end; i++) {
+            result = result * 10 - Character.digit(value.charAt(i), 10);
+        }
+
+        return '-' == value.charAt(start) ? result : -result;
+    }
+
+    /**
+     * Check whether the value may be a floating-point number, i.e. values
+     * that are not accepted by {@link Double#parseDouble(String)} can be
+     * rejected without throwing.
+     *
+     * Hexadecimal numbers, {@code NaN} and {@code Infinity} are accepted
+     * without checking the remaining characters.
+     *
+     * @param value Value to check.
+     * @return False if the value is not a floating-point number, otherwise true.
+     */
+    public static boolean isFloatingPoint(CharSequence value) {
+        int start = 0;
+        int end = value.length();
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        int i = skipSign(value, start, end);
+        if (i == end) {
+            return false;
+        }
+
+        char first = value.charAt(i);
+        if ('N' == first || 'I' == first) {
+            return true;
+        }
+
+        if ('0' == first && i + 1 < end && 'x' == Character.toLowerCase(value.charAt(i + 1))) {
+            return true;
+        }
+
+        int digits = 0;
+        for (; i < end && isDigit(value.charAt(i)); i++) {
+            digits++;
+        }
+
+        if (i < end && '.' == value.charAt(i)) {
+            for (i++; i < end && isDigit(value.charAt(i)); i++) {
+                digits++;
+            }
+        }
+
+        if (0 == digits) {
+            return false;
+        }
+
+        if (i < end && 'e' == Character.toLowerCase(value.charAt(i))) {
+            i = skipSign(value, i + 1, end);
+
+            int exponentDigits = 0;
+            for (; i < end && isDigit(value.charAt(i)); i++) {
+                exponentDigits++;
+            }
+
+            if (0 == exponentDigits) {
+                return false;
+            }
+        }
+
+        if (i < end && isFloatingPointSuffix(value.charAt(i))) {
+            i++;
+        }
+
+        return i == end;
+    }
+
+    private static int skipSign(CharSequence value, int start, int end) {
+        if (start < end && ('-' == value.charAt(start) || '+' == value.charAt(start))) {
+            return start + 1;
+        }
+
+        return start;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isFloatingPointSuffix(char c) {
+        char suffix = Character.toLowerCase(c);
+
+        return 'f' == suffix || 'd' == suffix;
+    }
+}
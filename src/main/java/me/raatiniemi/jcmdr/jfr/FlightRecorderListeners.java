@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.jfr;
+
+import me.raatiniemi.jcmdr.listener.ParseListener;
+
+/**
+ * Create the listener committing flight recorder events, if the flight
+ * recorder is available in the running JVM.
+ *
+ * The events are disabled by default, and are enabled with the settings
+ * included as {@value #SETTINGS}, e.g. by combining them with the default
+ * settings when starting the recording.
+ */
+public final class FlightRecorderListeners {
+    /**
+     * Resource containing the settings enabling the events.
+     */
+    public static final String SETTINGS = "/me/raatiniemi/jcmdr/jfr/jcmdr.jfc";
+
+    private static final String FLIGHT_RECORDER = "jdk.jfr.FlightRecorder";
+    private static final String LISTENER = "me.raatiniemi.jcmdr.jfr.FlightRecorderParseListener";
+
+    private FlightRecorderListeners() {
+    }
+
+    /**
+     * Check whether the flight recorder API is available in the running JVM,
+     * i.e. Java 11 or later, or Java 8 from update 262.
+     *
+     * @return True if the flight recorder API is available, otherwise false.
+     */
+    public static boolean isAvailable() {
+        try {
+            Class<?> flightRecorder = Class.forName(FLIGHT_RECORDER);
+
+            return (boolean) flightRecorder.getMethod("isAvailable").invoke(null);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Create the listener committing flight recorder events.
+     *
+     * The listener is loaded reflectively, i.e. this class can be used on
+     * JVMs without the flight recorder API.
+     *
+     * @return Listener committing flight recorder events, or {@link ParseListener#NONE}
+     * if the flight recorder is not available.
+     */
+    public static ParseListener create() {
+        if (!isAvailable()) {
+            return ParseListener.NONE;
+        }
+
+        try {
+            return (ParseListener) Class.forName(LISTENER)
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return ParseListener.NONE;
+        }
+    }
+}
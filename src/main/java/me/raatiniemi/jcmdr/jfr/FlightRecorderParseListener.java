@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.jfr;
+
+import me.raatiniemi.jcmdr.listener.ParseListener;
+import me.raatiniemi.jcmdr.scheme.Scheme;
+import me.raatiniemi.jcmdr.scheme.SchemeArgument;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Commit the flight recorder events for the stages of processing arguments.
+ *
+ * Only loaded through {@link FlightRecorderListeners}, since the class
+ * requires the flight recorder API to be available.
+ */
+final class FlightRecorderParseListener implements ParseListener {
+    FlightRecorderParseListener() {
+    }
+
+    /**
+     * Scheme arguments without names are identified by their string
+     * representation, e.g. arguments implemented outside of jcmdr.
+     */
+    private static String getOption(SchemeArgument schemeArgument) {
+        String longName = schemeArgument.getLongName();
+        if (nonNull(longName)) {
+            return longName;
+        }
+
+        String shortName = schemeArgument.getShortName();
+        if (nonNull(shortName)) {
+            return shortName;
+        }
+
+        return String.valueOf(schemeArgument);
+    }
+
+    @Override
+    public void schemeCompiled(Class<?> target, Scheme scheme, long durationNanos) {
+        SchemeCompileEvent event = new SchemeCompileEvent();
+        if (!event.shouldCommit()) {
+            return;
+        }
+
+        event.targetClass = target.getName();
+        event.methodCount = scheme.size();
+        event.compileDuration = durationNanos;
+        event.commit();
+    }
+
+    @Override
+    public void parseCompleted(int recognisedCount, int unmatchedCount, long durationNanos) {
+        ParseEvent event = new ParseEvent();
+        if (!event.shouldCommit()) {
+            return;
+        }
+
+        event.tokenCount = recognisedCount + unmatchedCount;
+        event.matchCount = recognisedCount;
+        event.missCount = unmatchedCount;
+        event.parseDuration = durationNanos;
+        event.commit();
+    }
+
+    @Override
+    public void handlerInvoked(SchemeArgument schemeArgument, long durationNanos) {
+        HandlerInvocationEvent event = new HandlerInvocationEvent();
+        if (!event.shouldCommit()) {
+            return;
+        }
+
+        event.option = getOption(schemeArgument);
+        event.invocationDuration = durationNanos;
+        event.commit();
+    }
+}
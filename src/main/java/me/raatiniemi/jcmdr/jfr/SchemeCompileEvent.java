@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name(SchemeCompileEvent.NAME)
+@Label("Scheme Compile")
+@Description("Compilation of the argument scheme for a target class")
+@Category("jcmdr")
+@Enabled(false)
+@StackTrace(false)
+final class SchemeCompileEvent extends Event {
+    static final String NAME = "me.raatiniemi.jcmdr.SchemeCompile";
+
+    @Label("Target Class")
+    String targetClass;
+
+    @Label("Method Count")
+    @Description("Number of annotated methods within the scheme")
+    int methodCount;
+
+    @Label("Compile Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long compileDuration;
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.jmx;
+
+import me.raatiniemi.jcmdr.argument.exception.UnevenQuotesException;
+import me.raatiniemi.jcmdr.exception.InvokeArgumentException;
+import me.raatiniemi.jcmdr.listener.ParseListener;
+import me.raatiniemi.jcmdr.scheme.Scheme;
+import me.raatiniemi.jcmdr.scheme.SchemeArgument;
+import me.raatiniemi.jcmdr.scheme.SchemeRegistry;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Counters for the usage, and latency, of the options within a compiled
+ * scheme, registered as a platform MBean.
+ *
+ * The counters are backed by {@link LongAdder}, i.e. updating the counters
+ * from multiple threads do not contend on a shared memory location. Use the
+ * statistics as the listener for the command lines of the target class.
+ *
+ * The counters are kept by option name, i.e. options are still counted after
+ * the scheme have been invalidated and compiled again.
+ */
+public final class SchemeStatistics implements SchemeStatisticsMXBean, ParseListener {
+    private static final String DOMAIN = "me.raatiniemi.jcmdr";
+    private static final ConcurrentMap<ObjectName, SchemeStatistics> REGISTERED = new ConcurrentHashMap<>();
+
+    private final Class<?> target;
+    private final List<SchemeArgument> arguments;
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final LongAdder[] matchCounts;
+    private final LongAdder[] handlerTimeNanos;
+    private final LongAdder unmatchedCount = new LongAdder();
+    private final LongAdder sanitizerFailureCount = new LongAdder();
+    private final LongAdder invokeFailureCount = new LongAdder();
+
+    private SchemeStatistics(Class<?> target, Scheme scheme) {
+        this.target = target;
+        arguments = scheme.getArguments();
+
+        matchCounts = createCounters(arguments.size());
+        handlerTimeNanos = createCounters(arguments.size());
+        for (int ordinal = 0; ordinal < arguments.size(); ordinal++) {
+            ordinals.putIfAbsent(getOption(arguments.get(ordinal)), ordinal);
+        }
+    }
+
+    /**
+     * Register the statistics for the scheme of the target class as a
+     * platform MBean, named {@code me.raatiniemi.jcmdr:type=Scheme,name=<class>}.
+     *
+     * @param target Class used for parsing the argument scheme.
+     * @return Statistics for the scheme, the already registered statistics if
+     * the scheme have been registered before. Statistics registered for a
+     * different class with the same name, e.g. a reloaded class, are replaced.
+     * @throws IllegalStateException If the MBean could not be registered.
+     */
+    public static SchemeStatistics register(Class<?> target) {
+        ObjectName name = createObjectName(target);
+
+        return REGISTERED.compute(name, (key, registered) -> {
+            if (nonNull(registered) && target == registered.target) {
+                return registered;
+            }
+
+            if (nonNull(registered)) {
+                unregisterMBean(key);
+            }
+
+            SchemeStatistics statistics = new SchemeStatistics(target, SchemeRegistry.schemeFor(target));
+            registerMBean(key, statistics);
+
+            return statistics;
+        });
+    }
+
+    /**
+     * Unregister the statistics for the scheme of the target class.
+     *
+     * @param target Class used for parsing the argument scheme.
+     * @throws IllegalStateException If the MBean could not be unregistered.
+     */
+    public static void unregister(Class<?> target) {
+        ObjectName name = createObjectName(target);
+        if (isNull(REGISTERED.remove(name))) {
+            return;
+        }
+
+        unregisterMBean(name);
+    }
+
+    private static void unregisterMBean(ObjectName name) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Unable to unregister MBean " + name, e);
+        }
+    }
+
+    private static ObjectName createObjectName(Class<?> target) {
+        try {
+            return new ObjectName(DOMAIN + ":type=Scheme,name=" + ObjectName.quote(target.getName()));
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalStateException("Unable to create MBean name for " + target.getName(), e);
+        }
+    }
+
+    private static void registerMBean(ObjectName name, SchemeStatistics statistics) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(statistics, name);
+        } catch (JMException e) {
+            throw new IllegalStateException("Unable to register MBean " + name, e);
+        }
+    }
+
+    private static LongAdder[] createCounters(int size) {
+        LongAdder[] counters = new LongAdder[size];
+        for (int i = 0; i < size; i++) {
+            counters[i] = new LongAdder();
+        }
+
+        return counters;
+    }
+
+    /**
+     * Scheme arguments without names are identified by their string
+     * representation, e.g. arguments implemented outside of jcmdr.
+     */
+    private static String getOption(SchemeArgument schemeArgument) {
+        String longName = schemeArgument.getLongName();
+        if (nonNull(longName)) {
+            return longName;
+        }
+
+        String shortName = schemeArgument.getShortName();
+        if (nonNull(shortName)) {
+            return shortName;
+        }
+
+        return String.valueOf(schemeArgument);
+    }
+
+    private Map<String, Long> collect(LongAdder[] counters) {
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (int ordinal = 0; ordinal < counters.length; ordinal++) {
+            values.merge(getOption(arguments.get(ordinal)), counters[ordinal].sum(), Long::sum);
+        }
+
+        return values;
+    }
+
+    private static long sum(LongAdder[] counters) {
+        long sum = 0;
+        for (LongAdder counter : counters) {
+            sum += counter.sum();
+        }
+
+        return sum;
+    }
+
+    private void increment(LongAdder[] counters, SchemeArgument schemeArgument, long value) {
+        Integer ordinal = ordinals.get(getOption(schemeArgument));
+        if (nonNull(ordinal)) {
+            counters[ordinal].add(value);
+        }
+    }
+
+    @Override
+    public void tokenRecognised(SchemeArgument schemeArgument, long durationNanos) {
+        increment(matchCounts, schemeArgument, 1);
+    }
+
+    @Override
+    public void tokenUnmatched(CharSequence argument, int nameStart, int nameEnd) {
+        unmatchedCount.increment();
+    }
+
+    @Override
+    public void sanitizeFailed(CharSequence argument, UnevenQuotesException exception) {
+        sanitizerFailureCount.increment();
+    }
+
+    @Override
+    public void handlerInvoked(SchemeArgument schemeArgument, long durationNanos) {
+        increment(handlerTimeNanos, schemeArgument, durationNanos);
+    }
+
+    @Override
+    public void handlerFailed(SchemeArgument schemeArgument, RuntimeException exception, long durationNanos) {
+        increment(handlerTimeNanos, schemeArgument, durationNanos);
+
+        if (exception instanceof InvokeArgumentException) {
+            invokeFailureCount.increment();
+        }
+    }
+
+    @Override
+    public String getTargetClass() {
+        return target.getName();
+    }
+
+    @Override
+    public Map<String, Long> getMatchCounts() {
+        return collect(matchCounts);
+    }
+
+    @Override
+    public Map<String, Long> getHandlerTimeNanos() {
+        return collect(handlerTimeNanos);
+    }
+
+    @Override
+    public long getUnmatchedCount() {
+        return unmatchedCount.sum();
+    }
+
+    @Override
+    public long getSanitizerFailureCount() {
+        return sanitizerFailureCount.sum();
+    }
+
+    @Override
+    public long getInvokeFailureCount() {
+        return invokeFailureCount.sum();
+    }
+
+    @Override
+    public long getTotalHandlerTimeNanos() {
+        return sum(handlerTimeNanos);
+    }
+
+    @Override
+    public void reset() {
+        for (int ordinal = 0; ordinal < arguments.size(); ordinal++) {
+            matchCounts[ordinal].reset();
+            handlerTimeNanos[ordinal].reset();
+        }
+        unmatchedCount.reset();
+        sanitizerFailureCount.reset();
+        invokeFailureCount.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "{targetClass='" + target.getName() + "', matchCounts=" + getMatchCounts() + "}";
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.jmx;
+
+import java.util.Map;
+
+/**
+ * Management interface for the usage, and latency, of the options within a
+ * compiled scheme.
+ */
+public interface SchemeStatisticsMXBean {
+    /**
+     * @return Name of the class the scheme was compiled from.
+     */
+    String getTargetClass();
+
+    /**
+     * @return Number of times each option have been matched, keyed on the option name.
+     */
+    Map<String, Long> getMatchCounts();
+
+    /**
+     * @return Cumulative time spent in the method of each option, in nanoseconds.
+     */
+    Map<String, Long> getHandlerTimeNanos();
+
+    /**
+     * @return Number of options that did not match the scheme.
+     */
+    long getUnmatchedCount();
+
+    /**
+     * @return Number of values that could not be sanitized, e.g. due to uneven quotes.
+     */
+    long getSanitizerFailureCount();
+
+    /**
+     * @return Number of invocations that failed with {@code InvokeArgumentException}.
+     */
+    long getInvokeFailureCount();
+
+    /**
+     * @return Cumulative time spent in the methods of every option, in nanoseconds.
+     */
+    long getTotalHandlerTimeNanos();
+
+    /**
+     * Reset every counter to zero.
+     */
+    void reset();
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.listener;
+
+import me.raatiniemi.jcmdr.argument.exception.UnevenQuotesException;
+import me.raatiniemi.jcmdr.scheme.Scheme;
+import me.raatiniemi.jcmdr.scheme.SchemeArgument;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Listener notifying each of the composed listeners, in order.
+ */
+final class CompositeParseListener implements ParseListener {
+    private final ParseListener[] listeners;
+
+    private CompositeParseListener(ParseListener[] listeners) {
+        this.listeners = listeners;
+    }
+
+    static ParseListener of(ParseListener... listeners) {
+        List<ParseListener> composed = new ArrayList<>();
+        for (ParseListener listener : listeners) {
+            requireNonNull(listener, "Listener must be supplied");
+            if (NONE == listener) {
+                continue;
+            }
+
+            if (listener instanceof CompositeParseListener) {
+                composed.addAll(Arrays.asList(((CompositeParseListener) listener).listeners));
+                continue;
+            }
+
+            composed.add(listener);
+        }
+
+        if (composed.isEmpty()) {
+            return NONE;
+        }
+
+        if (1 == composed.size()) {
+            return composed.get(0);
+        }
+
+        return new CompositeParseListener(composed.toArray(new ParseListener[0]));
+    }
+
+    @Override
+    public void schemeCompiled(Class<?> target, Scheme scheme, long durationNanos) {
+        for (ParseListener listener : listeners) {
+            listener.schemeCompiled(target, scheme, durationNanos);
+        }
+    }
+
+    @Override
+    public void tokenRecognised(SchemeArgument schemeArgument, long durationNanos) {
+        for (ParseListener listener : listeners) {
+            listener.tokenRecognised(schemeArgument, durationNanos);
+        }
+    }
+
+    @Override
+    public void tokenUnmatched(CharSequence argument, int nameStart, int nameEnd) {
+        for (ParseListener listener : listeners) {
+            listener.tokenUnmatched(argument, nameStart, nameEnd);
+        }
+    }
+
+    @Override
+    public void sanitizeFailed(CharSequence argument, UnevenQuotesException exception) {
+        for (ParseListener listener : listeners) {
+            listener.sanitizeFailed(argument, exception);
+        }
+    }
+
+    @Override
+    public void parseCompleted(int recognisedCount, int unmatchedCount, long durationNanos) {
+        for (ParseListener listener : listeners) {
+            listener.parseCompleted(recognisedCount, unmatchedCount, durationNanos);
+        }
+    }
+
+    @Override
+    public void valueConverted(SchemeArgument schemeArgument, long durationNanos) {
+        for (ParseListener listener : listeners) {
+            listener.valueConverted(schemeArgument, durationNanos);
+        }
+    }
+
+    @Override
+    public void handlerInvoked(SchemeArgument schemeArgument, long durationNanos) {
+        for (ParseListener listener : listeners) {
+            listener.handlerInvoked(schemeArgument, durationNanos);
+        }
+    }
+
+    @Override
+    public void handlerFailed(SchemeArgument schemeArgument, RuntimeException exception, long durationNanos) {
+        for (ParseListener listener : listeners) {
+            listener.handlerFailed(schemeArgument, exception, durationNanos);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ParseListener.compose" + Arrays.toString(listeners);
+    }
+}
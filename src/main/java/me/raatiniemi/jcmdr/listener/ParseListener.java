@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.listener;
+
+import me.raatiniemi.jcmdr.argument.exception.UnevenQuotesException;
+import me.raatiniemi.jcmdr.scheme.Scheme;
+import me.raatiniemi.jcmdr.scheme.SchemeArgument;
+
+/**
+ * Listener for the stages of processing arguments, e.g. for measuring where
+ * the time is spent.
+ *
+ * Durations are measured with {@link System#nanoTime()}, and are only measured
+ * when a listener other than {@link #NONE} is used. The callbacks are invoked
+ * on the thread processing the arguments, and should return quickly.
+ */
+public interface ParseListener {
+    /**
+     * Listener that ignores every callback, used when no listener have been
+     * registered. Processing with this listener do not measure any durations.
+     */
+    ParseListener NONE = new ParseListener() {
+        @Override
+        public String toString() {
+            return "ParseListener.NONE";
+        }
+    };
+
+    /**
+     * Compose the listeners into a single listener, e.g. to collect statistics
+     * and commit flight recorder events for the same command line. The
+     * callbacks are invoked on each listener, in the order they are given.
+     *
+     * @param listeners Listeners to compose.
+     * @return Listener notifying each of the listeners, or {@link #NONE} if no
+     * listeners, other than {@link #NONE}, have been given.
+     */
+    static ParseListener compose(ParseListener... listeners) {
+        return CompositeParseListener.of(listeners);
+    }
+
+    /**
+     * Called when the scheme for a target class have been compiled, i.e. only
+     * for the first lookup of the scheme.
+     *
+     * @param target        Class used for parsing the argument scheme.
+     * @param scheme        Scheme compiled from the target class.
+     * @param durationNanos Time spent compiling the scheme, in nanoseconds.
+     */
+    default void schemeCompiled(Class<?> target, Scheme scheme, long durationNanos) {
+    }
+
+    /**
+     * Called when an option within the arguments have been matched against
+     * the scheme.
+     *
+     * @param schemeArgument Scheme argument matching the option.
+     * @param durationNanos  Time spent tokenizing, matching and sanitizing the option, in nanoseconds.
+     */
+    default void tokenRecognised(SchemeArgument schemeArgument, long durationNanos) {
+    }
+
+    /**
+     * Called when an option within the arguments do not match the scheme.
+     *
+     * The option name is passed as a region of the argument, to avoid
+     * copying the name when the callback do not need it.
+     *
+     * @param argument  Argument containing the option.
+     * @param nameStart Index of the first character of the option name.
+     * @param nameEnd   Index after the last character of the option name.
+     */
+    default void tokenUnmatched(CharSequence argument, int nameStart, int nameEnd) {
+    }
+
+    /**
+     * Called when the value of an option could not be sanitized.
+     *
+     * @param argument  Argument containing the option.
+     * @param exception Exception thrown when sanitizing the value, rethrown after the callback.
+     */
+    default void sanitizeFailed(CharSequence argument, UnevenQuotesException exception) {
+    }
+
+    /**
+     * Called when the arguments have been parsed.
+     *
+     * @param recognisedCount Number of options that matched the scheme.
+     * @param unmatchedCount  Number of options that did not match the scheme.
+     * @param durationNanos   Time spent parsing the arguments, in nanoseconds.
+     */
+    default void parseCompleted(int recognisedCount, int unmatchedCount, long durationNanos) {
+    }
+
+    /**
+     * Called when an argument value have been converted to the type expected
+     * by the scheme argument.
+     *
+     * @param schemeArgument Scheme argument for which the value was converted.
+     * @param durationNanos  Time spent converting the value, in nanoseconds.
+     */
+    default void valueConverted(SchemeArgument schemeArgument, long durationNanos) {
+    }
+
+    /**
+     * Called when the method associated with the scheme argument have been invoked.
+     *
+     * @param schemeArgument Scheme argument which have been invoked.
+     * @param durationNanos  Time spent in the invocation, in nanoseconds.
+     */
+    default void handlerInvoked(SchemeArgument schemeArgument, long durationNanos) {
+    }
+
+    /**
+     * Called when the method associated with the scheme argument failed.
+     *
+     * @param schemeArgument Scheme argument which have been invoked.
+     * @param exception      Exception thrown by the invocation, rethrown after the callback.
+     * @param durationNanos  Time spent in the invocation, in nanoseconds.
+     */
+    default void handlerFailed(SchemeArgument schemeArgument, RuntimeException exception, long durationNanos) {
+    }
+}
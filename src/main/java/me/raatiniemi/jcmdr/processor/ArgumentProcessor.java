@@ -0,0 +1,243 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.processor;
+
+import me.raatiniemi.jcmdr.scheme.annotation.Accumulation;
+import me.raatiniemi.jcmdr.scheme.annotation.Argument;
+import me.raatiniemi.jcmdr.scheme.annotation.GenerateSchemeParser;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Generate scheme parsers for classes annotated with {@link GenerateSchemeParser}.
+ *
+ * The generated parser bind each argument scheme to its method using a method
+ * reference, i.e. the scheme is available without using reflection. The
+ * {@code SchemeParserFactory} picks up the generated parser when present.
+ *
+ * Parsers are only generated when every annotated method can be referenced
+ * from the package of the class, takes either no argument or a single
+ * {@link String} argument, do not declare any thrown exceptions, is not
+ * static, and do not count or collect repeated arguments. Other classes fall
+ * back to having their scheme parsed using reflection.
+ *
+ * The processor is opt-in for each class, since the processor is picked up
+ * from the classpath of every project using jcmdr, i.e. classes that are not
+ * annotated keep having their scheme parsed using reflection.
+ */
+@SupportedAnnotationTypes("me.raatiniemi.jcmdr.scheme.annotation.GenerateSchemeParser")
+public final class ArgumentProcessor extends AbstractProcessor {
+    /**
+     * Suffix appended to the binary name of the target class for generated
+     * scheme parsers, must be kept in sync with the {@code SchemeParserFactory}.
+     */
+    private static final String GENERATED_PARSER_SUFFIX = "_SchemeParser";
+
+    private static final String SCHEME_PACKAGE = "me.raatiniemi.jcmdr.scheme";
+    private static final String ACCUMULATION = Accumulation.class.getName();
+
+    private static boolean isAccessible(TypeElement type) {
+        Element element = type;
+        while (element.getKind().isClass() || element.getKind().isInterface()) {
+            if (element.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+
+            if (NestingKind.LOCAL == ((TypeElement) element).getNestingKind()
+                    || NestingKind.ANONYMOUS == ((TypeElement) element).getNestingKind()) {
+                return false;
+            }
+
+            element = element.getEnclosingElement();
+        }
+
+        return type.getTypeParameters().isEmpty();
+    }
+
+    private static boolean isSupported(ExecutableElement method) {
+        Set<Modifier> modifiers = method.getModifiers();
+        if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.STATIC)) {
+            return false;
+        }
+
+        if (!method.getTypeParameters().isEmpty()) {
+            return false;
+        }
+
+        // Method references to methods throwing checked exceptions are not
+        // compatible with the functional interfaces of the bound handlers.
+        if (!method.getThrownTypes().isEmpty()) {
+            return false;
+        }
+
+        if (!isBound(method.getAnnotation(Argument.class).accumulation())) {
+            return false;
+        }
+
+        List<? extends VariableElement> parameters = method.getParameters();
+        if (parameters.isEmpty()) {
+            return true;
+        }
+
+        return 1 == parameters.size() && isString(parameters.get(0).asType());
+    }
+
+    /**
+     * Counted and collected arguments are passed as numbers, arrays or lists,
+     * i.e. they can not be bound to a handler with a string value.
+     */
+    private static boolean isBound(Accumulation accumulation) {
+        return Accumulation.COUNT != accumulation && Accumulation.COLLECT != accumulation;
+    }
+
+    private static boolean isString(TypeMirror type) {
+        return TypeKind.DECLARED == type.getKind()
+                && String.class.getName().equals(type.toString());
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(GenerateSchemeParser.class))) {
+            processType(type);
+        }
+
+        return false;
+    }
+
+    private void processType(TypeElement type) {
+        if (!isAccessible(type) || type.getModifiers().contains(Modifier.ABSTRACT)) {
+            return;
+        }
+
+        List<ExecutableElement> methods = collectAnnotatedMethods(type);
+        for (ExecutableElement method : methods) {
+            if (!isSupported(method)) {
+                return;
+            }
+        }
+
+        try {
+            writeSchemeParser(type, methods);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(
+                    Diagnostic.Kind.WARNING,
+                    "Unable to generate scheme parser: " + e.getMessage(),
+                    type
+            );
+        }
+    }
+
+    /**
+     * Collect the annotated methods, including inherited methods, sorted by
+     * name in the same way as the scheme parsed using reflection.
+     */
+    private List<ExecutableElement> collectAnnotatedMethods(TypeElement type) {
+        List<ExecutableElement> methods = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            if (isAnnotated(method)) {
+                methods.add(method);
+            }
+        }
+
+        methods.sort(Comparator.comparing(method -> method.getSimpleName().toString()));
+        return methods;
+    }
+
+    private static boolean isAnnotated(ExecutableElement method) {
+        return nonNull(method.getAnnotation(Argument.class));
+    }
+
+    private void writeSchemeParser(TypeElement type, List<ExecutableElement> methods) throws IOException {
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String simpleBinaryName = packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1);
+        // The binary name keep the '$' of nested classes, i.e. the parser
+        // names for a nested Foo.Bar and a top-level Foo_Bar do not collide.
+        String parserName = simpleBinaryName + GENERATED_PARSER_SUFFIX;
+        String targetName = type.getQualifiedName().toString();
+
+        JavaFileObject sourceFile = processingEnv.getFiler()
+                .createSourceFile(packageName.isEmpty() ? parserName : packageName + "." + parserName, type);
+
+        try (Writer writer = sourceFile.openWriter()) {
+            if (!packageName.isEmpty()) {
+                writer.write("package " + packageName + ";\n\n");
+            }
+
+            writer.write("/**\n");
+            writer.write(" * Scheme parser for {@link " + targetName + "}, generated by jcmdr.\n");
+            writer.write(" */\n");
+            writer.write("public final class " + parserName + " implements " + SCHEME_PACKAGE + ".SchemeParser {\n");
+            writer.write("    @Override\n");
+            writer.write("    public Class<?> getTarget() {\n");
+            writer.write("        return " + targetName + ".class;\n");
+            writer.write("    }\n\n");
+            writer.write("    @Override\n");
+            writer.write("    public java.util.List<" + SCHEME_PACKAGE + ".SchemeArgument> parse() {\n");
+            writer.write("        return java.util.Arrays.<" + SCHEME_PACKAGE + ".SchemeArgument>asList(");
+
+            for (int i = 0; i < methods.size(); i++) {
+                writer.write(i > 0 ? ",\n" : "\n");
+                writeSchemeArgument(writer, targetName, methods.get(i));
+            }
+
+            writer.write("\n        );\n");
+            writer.write("    }\n");
+            writer.write("}\n");
+        }
+    }
+
+    private void writeSchemeArgument(Writer writer, String targetName, ExecutableElement method) throws IOException {
+        Argument argument = method.getAnnotation(Argument.class);
+        String handler = method.getParameters().isEmpty() ? "withoutValue" : "withValue";
+
+        writer.write("                " + SCHEME_PACKAGE + ".BoundSchemeArgument.builder(" + targetName + ".class)\n");
+        writer.write("                        .shortName(" + constant(argument.shortName()) + ")\n");
+        writer.write("                        .longName(" + constant(argument.longName()) + ")\n");
+        writer.write("                        ." + handler + "(" + targetName + "::" + method.getSimpleName() + ")\n");
+        if (argument.independent()) {
+            writer.write("                        .independent(true)\n");
+        }
+        if (Accumulation.DISTINCT != argument.accumulation()) {
+            writer.write("                        .accumulation(" + ACCUMULATION + "." + argument.accumulation() + ")\n");
+        }
+        writer.write("                        .build()");
+    }
+
+    private String constant(String value) {
+        return processingEnv.getElementUtils().getConstantExpression(value);
+    }
+}
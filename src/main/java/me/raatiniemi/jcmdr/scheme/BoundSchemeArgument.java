@@ -0,0 +1,296 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.scheme;
+
+import me.raatiniemi.jcmdr.exception.InvokeArgumentException;
+import me.raatiniemi.jcmdr.scheme.annotation.Accumulation;
+import me.raatiniemi.jcmdr.scheme.exception.InvalidSchemeArgumentException;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static me.raatiniemi.jcmdr.helper.Strings.isNullOrEmpty;
+
+/**
+ * Argument scheme bound directly to a handler, i.e. without reflection.
+ *
+ * Used by the scheme parsers generated at compile time, where the handler is
+ * a method reference to the method annotated with
+ * {@link me.raatiniemi.jcmdr.scheme.annotation.Argument}.
+ *
+ * @param <T> Type reference of the target class.
+ */
+public final class BoundSchemeArgument<T> implements SchemeArgument {
+    private static final Class<?>[] WITHOUT_VALUE = new Class<?>[0];
+    private static final Class<?>[] WITH_VALUE = new Class<?>[]{String.class};
+
+    private final Class<T> target;
+    private final String shortName;
+    private final String longName;
+    private final Consumer<T> withoutValue;
+    private final BiConsumer<T, String> withValue;
+    private final boolean independent;
+    private final Accumulation accumulation;
+
+    private BoundSchemeArgument(Builder<T> builder) {
+        SchemeArgumentNames.requireName(builder.shortName, builder.longName);
+        if (isNull(builder.withoutValue) && isNull(builder.withValue)) {
+            throw new IllegalStateException("Handler must be supplied");
+        }
+
+        target = builder.target;
+        shortName = builder.shortName;
+        longName = builder.longName;
+        withoutValue = builder.withoutValue;
+        withValue = builder.withValue;
+        independent = builder.independent;
+        accumulation = builder.accumulation;
+    }
+
+    /**
+     * Create the builder for an argument scheme on the target class.
+     *
+     * @param target Class on which the handler is declared.
+     * @param <T>    Type reference of the target class.
+     * @return Builder for the argument scheme.
+     */
+    public static <T> Builder<T> builder(Class<T> target) {
+        return new Builder<>(target);
+    }
+
+    @Override
+    public String getShortName() {
+        return shortName;
+    }
+
+    @Override
+    public String getLongName() {
+        return longName;
+    }
+
+    @Override
+    public boolean isIndependent() {
+        return independent;
+    }
+
+    @Override
+    public Accumulation getAccumulation() {
+        return accumulation;
+    }
+
+    @Override
+    public Class<?> getValueType() {
+        if (isNull(withValue)) {
+            return null;
+        }
+
+        return String.class;
+    }
+
+    @Override
+    public boolean validate(String argument, Class<?>... argumentValueTypes) {
+        return SchemeArgumentNames.matches(argument, shortName, longName)
+                && validateArgumentValueTypes(argumentValueTypes);
+    }
+
+    private boolean validateArgumentValueTypes(Class<?>[] argumentValueTypes) {
+        if (nonNull(withValue)) {
+            return Arrays.equals(WITH_VALUE, argumentValueTypes);
+        }
+
+        return Arrays.equals(WITHOUT_VALUE, argumentValueTypes);
+    }
+
+    @Override
+    public <S> void call(S target, String argumentValue) {
+        T instance = this.target.cast(target);
+
+        if (isNull(argumentValue)) {
+            callWithoutValue(instance);
+            return;
+        }
+
+        callWithValue(instance, argumentValue);
+    }
+
+    private static InvokeArgumentException wrongNumberOfArguments() {
+        return new InvokeArgumentException(
+                new IllegalArgumentException("wrong number of arguments")
+        );
+    }
+
+    /**
+     * Any throwable from the handler is wrapped, including errors, in the
+     * same way as for the methods invoked using reflection.
+     */
+    private static InvokeArgumentException handlerFailed(Throwable e) {
+        return new InvokeArgumentException(new InvocationTargetException(e));
+    }
+
+    private void callWithoutValue(T instance) {
+        if (isNull(withoutValue)) {
+            throw wrongNumberOfArguments();
+        }
+
+        try {
+            withoutValue.accept(instance);
+        } catch (Throwable e) {
+            throw handlerFailed(e);
+        }
+    }
+
+    private void callWithValue(T instance, String argumentValue) {
+        if (isNull(withValue)) {
+            throw wrongNumberOfArguments();
+        }
+
+        try {
+            withValue.accept(instance, argumentValue);
+        } catch (Throwable e) {
+            throw handlerFailed(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "{shortName='" + shortName + "', longName='" + longName + "'}";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof BoundSchemeArgument)) {
+            return false;
+        }
+
+        BoundSchemeArgument<?> argument = (BoundSchemeArgument<?>) o;
+        return Objects.equals(target, argument.target)
+                && Objects.equals(shortName, argument.shortName)
+                && Objects.equals(longName, argument.longName)
+                && isNull(withValue) == isNull(argument.withValue);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 17;
+        result = 31 * result + Objects.hashCode(target);
+        result = 31 * result + Objects.hashCode(shortName);
+        result = 31 * result + Objects.hashCode(longName);
+
+        return 31 * result + (isNull(withValue) ? 0 : 1);
+    }
+
+    public static final class Builder<T> {
+        private final Class<T> target;
+        private String shortName;
+        private String longName;
+        private Consumer<T> withoutValue;
+        private BiConsumer<T, String> withValue;
+        private boolean independent;
+        private Accumulation accumulation = Accumulation.DISTINCT;
+
+        private Builder(Class<T> target) {
+            this.target = target;
+        }
+
+        public Builder<T> shortName(String shortName) {
+            if (isNullOrEmpty(shortName)) {
+                return this;
+            }
+
+            this.shortName = SchemeArgumentNames.validateShortName(shortName);
+            return this;
+        }
+
+        public Builder<T> longName(String longName) {
+            if (isNullOrEmpty(longName)) {
+                return this;
+            }
+
+            this.longName = SchemeArgumentNames.validateLongName(longName);
+            return this;
+        }
+
+        /**
+         * Handler for arguments supplied without a value.
+         *
+         * @param handler Handler to call on the target.
+         * @return Builder for the argument scheme.
+         */
+        public Builder<T> withoutValue(Consumer<T> handler) {
+            withoutValue = handler;
+            withValue = null;
+
+            return this;
+        }
+
+        /**
+         * Handler for arguments supplied with a value.
+         *
+         * @param handler Handler to call on the target with the argument value.
+         * @return Builder for the argument scheme.
+         */
+        public Builder<T> withValue(BiConsumer<T, String> handler) {
+            withValue = handler;
+            withoutValue = null;
+
+            return this;
+        }
+
+        /**
+         * @param independent Whether the handler can be invoked concurrently with other handlers.
+         * @return Builder for the argument scheme.
+         */
+        public Builder<T> independent(boolean independent) {
+            this.independent = independent;
+            return this;
+        }
+
+        /**
+         * Handlers bound without a value, or with a string value, can only
+         * accumulate repeated arguments as distinct, first or last occurrence.
+         *
+         * @param accumulation Accumulation of repeated occurrences of the argument.
+         * @return Builder for the argument scheme.
+         */
+        public Builder<T> accumulation(Accumulation accumulation) {
+            if (Accumulation.COUNT == accumulation || Accumulation.COLLECT == accumulation) {
+                throw new InvalidSchemeArgumentException(
+                        "Bound argument can not accumulate with " + accumulation
+                );
+            }
+
+            if (nonNull(accumulation)) {
+                this.accumulation = accumulation;
+            }
+
+            return this;
+        }
+
+        public BoundSchemeArgument<T> build() {
+            return new BoundSchemeArgument<>(this);
+        }
+    }
+}
@@ -57,10 +57,17 @@ final class ClassParser implements SchemeParser {
                     .shortName(argument.shortName())
                     .longName(argument.longName())
                     .methodReference(method)
+                    .independent(argument.independent())
+                    .accumulation(argument.accumulation())
                     .build();
         };
     }
 
+    @Override
+    public Class<?> getTarget() {
+        return target;
+    }
+
     @Override
     public List<SchemeArgument> parse() {
         return getMethods().stream()
@@ -0,0 +1,196 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.scheme;
+
+import me.raatiniemi.jcmdr.scheme.exception.AmbiguousLongNameException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Prefix trie over the long names within a scheme, used for resolving
+ * abbreviated long names, e.g. {@code --verb} for {@code --verbose}.
+ *
+ * The trie is built once, and each node keeps the long name if it is the only
+ * long name below the node, i.e. an abbreviation is resolved by walking the
+ * characters of the abbreviation without looking at the other long names.
+ */
+final class LongNameTrie {
+    private final Node root = new Node();
+
+    private LongNameTrie() {
+    }
+
+    static LongNameTrie build(List<SchemeArgument> arguments) {
+        LongNameTrie trie = new LongNameTrie();
+        for (SchemeArgument argument : arguments) {
+            String longName = argument.getLongName();
+            if (nonNull(longName)) {
+                trie.add(longName);
+            }
+        }
+
+        return trie;
+    }
+
+    private void add(String longName) {
+        Node node = root;
+        for (int i = 0; i < longName.length(); i++) {
+            node.addLongName(longName);
+            node = node.child(SchemeIndex.fold(longName.charAt(i)), true);
+        }
+
+        node.addLongName(longName);
+        node.terminal = longName;
+    }
+
+    /**
+     * Resolve the long name abbreviated by the region of the argument.
+     *
+     * @param name  Character sequence containing the abbreviation.
+     * @param start Index of the first character of the abbreviation.
+     * @param end   Index after the last character of the abbreviation.
+     * @return Long name starting with the abbreviation, or null if none match.
+     * @throws AmbiguousLongNameException If more than one long name start with the abbreviation.
+     */
+    String resolve(CharSequence name, int start, int end) {
+        Node node = find(name, start, end);
+        if (isNull(node)) {
+            return null;
+        }
+
+        if (node.ambiguous) {
+            throw new AmbiguousLongNameException(
+                    name.subSequence(start, end).toString(),
+                    node.collectLongNames()
+            );
+        }
+
+        return node.longName;
+    }
+
+    /**
+     * Check whether the region of the argument abbreviate more than one long name.
+     *
+     * @param name  Character sequence containing the abbreviation.
+     * @param start Index of the first character of the abbreviation.
+     * @param end   Index after the last character of the abbreviation.
+     * @return True if more than one long name start with the abbreviation, otherwise false.
+     */
+    boolean isAmbiguous(CharSequence name, int start, int end) {
+        Node node = find(name, start, end);
+
+        return nonNull(node) && node.ambiguous;
+    }
+
+    private Node find(CharSequence name, int start, int end) {
+        Node node = root;
+        for (int i = start; i < end && nonNull(node); i++) {
+            node = node.child(SchemeIndex.fold(name.charAt(i)), false);
+        }
+
+        return node;
+    }
+
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+
+        /**
+         * Long name below the node, if it is the only long name below the node.
+         */
+        private String longName;
+        private boolean ambiguous;
+
+        /**
+         * Long name ending at the node, if any.
+         */
+        private String terminal;
+
+        private void addLongName(String longName) {
+            if (isNull(this.longName) && !ambiguous) {
+                this.longName = longName;
+                return;
+            }
+
+            if (!longName.equals(this.longName)) {
+                this.longName = null;
+                ambiguous = true;
+            }
+        }
+
+        private Node child(char key, boolean create) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index >= 0) {
+                return children[index];
+            }
+
+            if (!create) {
+                return null;
+            }
+
+            int insertion = -(index + 1);
+            keys = insert(keys, insertion, key);
+
+            Node child = new Node();
+            children = insert(children, insertion, child);
+            return child;
+        }
+
+        private static char[] insert(char[] array, int index, char value) {
+            char[] result = new char[array.length + 1];
+            System.arraycopy(array, 0, result, 0, index);
+            result[index] = value;
+            System.arraycopy(array, index, result, index + 1, array.length - index);
+
+            return result;
+        }
+
+        private static Node[] insert(Node[] array, int index, Node value) {
+            Node[] result = new Node[array.length + 1];
+            System.arraycopy(array, 0, result, 0, index);
+            result[index] = value;
+            System.arraycopy(array, index, result, index + 1, array.length - index);
+
+            return result;
+        }
+
+        private Set<String> collectLongNames() {
+            SortedSet<String> longNames = new TreeSet<>();
+            collectLongNames(longNames);
+
+            return Collections.unmodifiableSortedSet(longNames);
+        }
+
+        private void collectLongNames(Set<String> longNames) {
+            if (nonNull(terminal)) {
+                longNames.add(terminal);
+            }
+
+            for (Node child : children) {
+                child.collectLongNames(longNames);
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.scheme;
+
+import me.raatiniemi.jcmdr.exception.InvalidArgumentValueException;
+import me.raatiniemi.jcmdr.exception.InvokeArgumentException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Invoke the method using a method handle adapted to an exact type, i.e. the
+ * invocation do not box the arguments or perform access checks.
+ */
+final class MethodHandleInvoker implements MethodInvoker {
+    private static final MethodType WITHOUT_VALUE = MethodType.methodType(void.class, Object.class);
+    private static final MethodType WITH_VALUE = MethodType.methodType(void.class, Object.class, String.class);
+    private static final MethodType WITH_CONVERTED_VALUE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType CONVERT = MethodType.methodType(Object.class, String.class);
+
+    private final MethodHandle withoutValue;
+    private final MethodHandle withValue;
+    private final MethodHandle withConvertedValue;
+    private final MethodHandle convert;
+
+    private MethodHandleInvoker(
+            MethodHandle withoutValue,
+            MethodHandle withValue,
+            MethodHandle withConvertedValue,
+            MethodHandle convert
+    ) {
+        this.withoutValue = withoutValue;
+        this.withValue = withValue;
+        this.withConvertedValue = withConvertedValue;
+        this.convert = convert;
+    }
+
+    static MethodInvoker withoutValue(MethodHandle methodHandle) {
+        return new MethodHandleInvoker(methodHandle.asType(WITHOUT_VALUE), null, null, null);
+    }
+
+    /**
+     * @param methodHandle   Method handle for method with a single parameter.
+     * @param valueConverter Converter from the argument value to the parameter type.
+     * @return Invoker for the method, with the conversion applied as a filter.
+     */
+    static MethodInvoker withValue(MethodHandle methodHandle, MethodHandle valueConverter) {
+        return new MethodHandleInvoker(
+                null,
+                MethodHandles.filterArguments(methodHandle, 1, valueConverter).asType(WITH_VALUE),
+                methodHandle.asType(WITH_CONVERTED_VALUE),
+                valueConverter.asType(CONVERT)
+        );
+    }
+
+    private static InvokeArgumentException wrongNumberOfArguments() {
+        return new InvokeArgumentException(
+                new IllegalArgumentException("wrong number of arguments")
+        );
+    }
+
+    @Override
+    public void invoke(Object target) {
+        if (isNull(withoutValue)) {
+            throw wrongNumberOfArguments();
+        }
+
+        try {
+            withoutValue.invokeExact(target);
+        } catch (Throwable e) {
+            throw new InvokeArgumentException(new InvocationTargetException(e));
+        }
+    }
+
+    @Override
+    public void invoke(Object target, String argumentValue) {
+        if (isNull(withValue)) {
+            throw wrongNumberOfArguments();
+        }
+
+        try {
+            withValue.invokeExact(target, argumentValue);
+        } catch (InvalidArgumentValueException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new InvokeArgumentException(new InvocationTargetException(e));
+        }
+    }
+
+    @Override
+    public Object convert(String argumentValue) {
+        if (isNull(convert)) {
+            return argumentValue;
+        }
+
+        try {
+            return (Object) convert.invokeExact(argumentValue);
+        } catch (InvalidArgumentValueException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new InvokeArgumentException(new InvocationTargetException(e));
+        }
+    }
+
+    @Override
+    public void invokeConverted(Object target, Object convertedValue) {
+        if (isNull(withConvertedValue)) {
+            throw wrongNumberOfArguments();
+        }
+
+        try {
+            withConvertedValue.invokeExact(target, convertedValue);
+        } catch (Throwable e) {
+            throw new InvokeArgumentException(new InvocationTargetException(e));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.scheme;
+
+import me.raatiniemi.jcmdr.exception.InvalidArgumentValueException;
+import me.raatiniemi.jcmdr.exception.InvokeArgumentException;
+
+/**
+ * Invoke the method associated with an argument scheme.
+ */
+interface MethodInvoker {
+    /**
+     * Invoke the method without an argument value.
+     *
+     * @param target Target on which to invoke the method.
+     * @throws InvokeArgumentException If the method could not be invoked, or if the method failed.
+     */
+    void invoke(Object target);
+
+    /**
+     * Invoke the method with an argument value.
+     *
+     * @param target        Target on which to invoke the method.
+     * @param argumentValue Argument value with which to invoke the method.
+     * @throws InvokeArgumentException If the method could not be invoked, or if the method failed.
+     */
+    void invoke(Object target, String argumentValue);
+
+    /**
+     * Convert the argument value to the parameter type of the method.
+     *
+     * @param argumentValue Argument value to convert.
+     * @return Converted argument value.
+     * @throws InvalidArgumentValueException If the argument value could not be converted.
+     */
+    Object convert(String argumentValue);
+
+    /**
+     * Invoke the method with an argument value converted with {@link #convert(String)}.
+     *
+     * @param target         Target on which to invoke the method.
+     * @param convertedValue Converted argument value with which to invoke the method.
+     * @throws InvokeArgumentException If the method could not be invoked, or if the method failed.
+     */
+    void invokeConverted(Object target, Object convertedValue);
+}
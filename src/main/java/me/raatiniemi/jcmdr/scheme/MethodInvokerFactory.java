@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.scheme;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Create the {@link MethodInvoker} for methods annotated as argument schemes.
+ *
+ * Methods that are accessible through the public lookup are invoked with a
+ * method handle, other methods fall back to being invoked using reflection.
+ * The conversion of the argument value, if any, is applied as a filter on the
+ * method handle.
+ */
+final class MethodInvokerFactory {
+    private final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+    private MethodInvokerFactory() {
+    }
+
+    static MethodInvoker createFor(Method method, MethodHandle valueConverter) {
+        MethodInvokerFactory factory = new MethodInvokerFactory();
+
+        return factory.create(method, valueConverter);
+    }
+
+    private static boolean isSupportedByMethodHandle(Method method, MethodHandle valueConverter) {
+        int parameterCount = method.getParameterCount();
+        if (0 == parameterCount) {
+            return true;
+        }
+
+        return 1 == parameterCount && nonNull(valueConverter);
+    }
+
+    private MethodInvoker create(Method method, MethodHandle valueConverter) {
+        if (!isSupportedByMethodHandle(method, valueConverter)) {
+            return new ReflectiveMethodInvoker(method, valueConverter);
+        }
+
+        try {
+            MethodHandle methodHandle = lookup.unreflect(method);
+            if (0 == method.getParameterCount()) {
+                return MethodHandleInvoker.withoutValue(methodHandle);
+            }
+
+            return MethodHandleInvoker.withValue(methodHandle, valueConverter);
+        } catch (IllegalAccessException e) {
+            return new ReflectiveMethodInvoker(method, valueConverter);
+        }
+    }
+}
@@ -16,47 +16,218 @@
 
 package me.raatiniemi.jcmdr.scheme;
 
-import me.raatiniemi.jcmdr.exception.InvokeArgumentException;
-import me.raatiniemi.jcmdr.scheme.exception.InvalidLongNameException;
+import me.raatiniemi.jcmdr.converter.ValueConverters;
+import me.raatiniemi.jcmdr.scheme.annotation.Accumulation;
 import me.raatiniemi.jcmdr.scheme.exception.InvalidSchemeArgumentException;
-import me.raatiniemi.jcmdr.scheme.exception.InvalidShortNameException;
 
-import java.lang.reflect.InvocationTargetException;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
+import java.util.function.Predicate;
 
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static me.raatiniemi.jcmdr.helper.Strings.isNullOrEmpty;
 
 final class MethodSchemeArgument implements SchemeArgument {
+    private static final Class<?>[] ARGUMENT_VALUE_TYPES = new Class<?>[]{String.class};
+    private static final Class<?>[] WITHOUT_VALUE_TYPES = new Class<?>[0];
+    private static final List<Class<?>> COUNT_TYPES = Arrays.asList(
+            int.class, Integer.class, long.class, Long.class
+    );
+    private static final List<Class<?>> COLLECT_TYPES = Arrays.asList(
+            int[].class, long[].class
+    );
+
     private final String shortName;
     private final String longName;
     private final Method methodReference;
+    private final boolean independent;
+    private final Accumulation accumulation;
+    private final boolean acceptsCharSequence;
+    private final boolean openedFromFile;
+    private final MethodHandle valueConverter;
+    private final Predicate<String> valueCheck;
+    private final MethodInvoker methodInvoker;
 
     private Class<?>[] methodReferenceParameterTypes;
 
     private MethodSchemeArgument(
             String shortName,
             String longName,
-            Method methodReference
+            Method methodReference,
+            boolean independent,
+            Accumulation accumulation
     ) {
-        if (isNull(shortName) && isNull(longName)) {
-            throw new InvalidSchemeArgumentException(
-                    "Short and/or long name must be supplied"
-            );
-        }
+        SchemeArgumentNames.requireName(shortName, longName);
+        requireAccumulationType(methodReference, accumulation);
 
         this.shortName = shortName;
         this.longName = longName;
         this.methodReference = methodReference;
+        this.independent = independent;
+        this.accumulation = accumulation;
+        acceptsCharSequence = isCharSequenceParameter(methodReference);
+        openedFromFile = isOpenedFromFile(methodReference);
+
+        valueConverter = findValueConverter(methodReference);
+        valueCheck = findValueCheck(methodReference);
+        methodInvoker = createMethodInvoker(methodReference, valueConverter);
+    }
+
+    private static void requireAccumulationType(Method methodReference, Accumulation accumulation) {
+        if (Accumulation.COUNT == accumulation && !hasParameterType(methodReference, COUNT_TYPES)) {
+            throw new InvalidSchemeArgumentException(
+                    "Counted argument require a single int or long parameter"
+            );
+        }
+
+        if (Accumulation.COLLECT == accumulation
+                && !hasParameterType(methodReference, COLLECT_TYPES)
+                && !hasStringListParameter(methodReference)) {
+            throw new InvalidSchemeArgumentException(
+                    "Collected argument require a single int[], long[] or List<String> parameter"
+            );
+        }
+    }
+
+    /**
+     * Collected values are passed as a list of strings, i.e. the list must
+     * accept strings, otherwise e.g. a {@code List<Integer>} parameter would
+     * fail with a {@link ClassCastException} within the method.
+     */
+    private static boolean hasStringListParameter(Method methodReference) {
+        if (isNull(methodReference) || 1 != methodReference.getParameterCount()) {
+            return false;
+        }
+
+        Type type = methodReference.getGenericParameterTypes()[0];
+        if (!(type instanceof ParameterizedType)) {
+            return false;
+        }
+
+        ParameterizedType parameterizedType = (ParameterizedType) type;
+        return List.class == parameterizedType.getRawType()
+                && acceptsString(parameterizedType.getActualTypeArguments()[0]);
+    }
+
+    private static boolean acceptsString(Type type) {
+        if (String.class == type) {
+            return true;
+        }
+
+        if (!(type instanceof WildcardType)) {
+            return false;
+        }
+
+        WildcardType wildcardType = (WildcardType) type;
+        for (Type lowerBound : wildcardType.getLowerBounds()) {
+            if (String.class != lowerBound) {
+                return false;
+            }
+        }
+
+        for (Type upperBound : wildcardType.getUpperBounds()) {
+            if (!(upperBound instanceof Class) || !((Class<?>) upperBound).isAssignableFrom(String.class)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean hasParameterType(Method methodReference, List<Class<?>> types) {
+        return nonNull(methodReference)
+                && 1 == methodReference.getParameterCount()
+                && types.contains(methodReference.getParameterTypes()[0]);
+    }
+
+    /**
+     * Find the conversion of the argument value for methods with a single
+     * parameter, i.e. resolved once when the scheme is compiled.
+     */
+    private static MethodHandle findValueConverter(Method methodReference) {
+        if (isNull(methodReference) || 1 != methodReference.getParameterCount()) {
+            return null;
+        }
+
+        return ValueConverters.find(methodReference.getParameterTypes()[0]);
+    }
+
+    private static Predicate<String> findValueCheck(Method methodReference) {
+        if (isNull(methodReference) || 1 != methodReference.getParameterCount()) {
+            return null;
+        }
+
+        return ValueConverters.findCheck(methodReference.getParameterTypes()[0]);
+    }
+
+    private static boolean isCharSequenceParameter(Method methodReference) {
+        return nonNull(methodReference)
+                && 1 == methodReference.getParameterCount()
+                && CharSequence.class == methodReference.getParameterTypes()[0];
+    }
+
+    private static boolean isOpenedFromFile(Method methodReference) {
+        return nonNull(methodReference)
+                && 1 == methodReference.getParameterCount()
+                && ValueConverters.isOpenedFromFile(methodReference.getParameterTypes()[0]);
+    }
+
+    private static MethodInvoker createMethodInvoker(Method methodReference, MethodHandle valueConverter) {
+        if (isNull(methodReference)) {
+            return null;
+        }
+
+        return MethodInvokerFactory.createFor(methodReference, valueConverter);
     }
 
     static Builder builder() {
         return new Builder();
     }
 
+    @Override
+    public String getShortName() {
+        return shortName;
+    }
+
+    @Override
+    public String getLongName() {
+        return longName;
+    }
+
+    @Override
+    public boolean isIndependent() {
+        return independent;
+    }
+
+    @Override
+    public Accumulation getAccumulation() {
+        return accumulation;
+    }
+
+    @Override
+    public Class<?> getValueType() {
+        if (isNull(methodReference) || 1 != methodReference.getParameterCount()) {
+            return null;
+        }
+
+        return methodReference.getParameterTypes()[0];
+    }
+
+    @Override
+    public boolean acceptsCharSequence() {
+        return acceptsCharSequence;
+    }
+
     @Override
     public boolean validate(String argument, Class<?>... argumentValueTypes) {
         return validateArgument(argument)
@@ -64,8 +235,7 @@ final class MethodSchemeArgument implements SchemeArgument {
     }
 
     private boolean validateArgument(String argument) {
-        return argument.equals(shortName)
-                || argument.equalsIgnoreCase(longName);
+        return SchemeArgumentNames.matches(argument, shortName, longName);
     }
 
     private boolean validateArgumentValueTypes(Class<?>[] argumentValueTypes) {
@@ -75,23 +245,100 @@ final class MethodSchemeArgument implements SchemeArgument {
             return !haveArgumentValueTypes;
         }
 
-        return Arrays.equals(
-                getMethodReferenceParameterTypes(),
-                argumentValueTypes
-        );
+        if (Accumulation.COUNT == accumulation) {
+            return Arrays.equals(WITHOUT_VALUE_TYPES, argumentValueTypes);
+        }
+
+        if (Accumulation.COLLECT == accumulation) {
+            return Arrays.equals(ARGUMENT_VALUE_TYPES, argumentValueTypes);
+        }
+
+        if (Arrays.equals(getMethodReferenceParameterTypes(), argumentValueTypes)) {
+            return true;
+        }
+
+        return isConvertible(argumentValueTypes);
+    }
+
+    private boolean isConvertible(Class<?>[] argumentValueTypes) {
+        return nonNull(valueConverter)
+                && Arrays.equals(ARGUMENT_VALUE_TYPES, argumentValueTypes);
     }
 
     @Override
     public <T> void call(T target, String argumentValue) {
+        if (isNull(argumentValue)) {
+            methodInvoker.invoke(target);
+            return;
+        }
+
+        if (openedFromFile) {
+            callWithFile(target, argumentValue);
+            return;
+        }
+
+        methodInvoker.invoke(target, argumentValue);
+    }
+
+    /**
+     * Values opened from a file are converted when the method is called,
+     * i.e. the file is opened for each call, and closed once the method
+     * have been invoked.
+     */
+    @Override
+    public Object convert(String argumentValue) {
+        if (openedFromFile) {
+            return new FileValue(argumentValue);
+        }
+
+        return methodInvoker.convert(argumentValue);
+    }
+
+    @Override
+    public boolean isValidValue(String argumentValue) {
+        return isNull(valueCheck) || valueCheck.test(argumentValue);
+    }
+
+    @Override
+    public <T> void callConverted(T target, Object convertedValue) {
+        if (convertedValue instanceof FileValue) {
+            callWithFile(target, ((FileValue) convertedValue).argumentValue);
+            return;
+        }
+
+        methodInvoker.invokeConverted(target, convertedValue);
+    }
+
+    private <T> void callWithFile(T target, String argumentValue) {
+        Object file = methodInvoker.convert(argumentValue);
+        try {
+            methodInvoker.invokeConverted(target, file);
+        } catch (RuntimeException e) {
+            closeFile(file, e);
+            throw e;
+        }
+
+        closeFile(file, null);
+    }
+
+    /**
+     * Memory-mapped buffers can not be closed, and are unmapped once they
+     * have been garbage collected.
+     */
+    private static void closeFile(Object file, RuntimeException failure) {
+        if (!(file instanceof Closeable)) {
+            return;
+        }
+
         try {
-            if (isNull(argumentValue)) {
-                methodReference.invoke(target);
-                return;
+            ((Closeable) file).close();
+        } catch (IOException e) {
+            UncheckedIOException closeFailure = new UncheckedIOException(e);
+            if (isNull(failure)) {
+                throw closeFailure;
             }
 
-            methodReference.invoke(target, argumentValue);
-        } catch (InvocationTargetException | IllegalAccessException e) {
-            throw new InvokeArgumentException(e);
+            failure.addSuppressed(closeFailure);
         }
     }
 
@@ -170,6 +417,8 @@ final class MethodSchemeArgument implements SchemeArgument {
         private String shortName;
         private String longName;
         private Method methodReference;
+        private boolean independent;
+        private Accumulation accumulation = Accumulation.DISTINCT;
 
         private Builder() {
         }
@@ -179,13 +428,7 @@ final class MethodSchemeArgument implements SchemeArgument {
                 return this;
             }
 
-            if (1 != shortName.length()) {
-                throw new InvalidShortNameException(
-                        "Short name must be one character"
-                );
-            }
-
-            this.shortName = shortName;
+            this.shortName = SchemeArgumentNames.validateShortName(shortName);
             return this;
         }
 
@@ -194,13 +437,7 @@ final class MethodSchemeArgument implements SchemeArgument {
                 return this;
             }
 
-            if (1 == longName.length()) {
-                throw new InvalidLongNameException(
-                        "Long name can not be one character"
-                );
-            }
-
-            this.longName = longName.toLowerCase();
+            this.longName = SchemeArgumentNames.validateLongName(longName);
             return this;
         }
 
@@ -212,8 +449,37 @@ final class MethodSchemeArgument implements SchemeArgument {
             return this;
         }
 
+        Builder independent(boolean independent) {
+            this.independent = independent;
+            return this;
+        }
+
+        Builder accumulation(Accumulation accumulation) {
+            if (nonNull(accumulation)) {
+                this.accumulation = accumulation;
+            }
+
+            return this;
+        }
+
         MethodSchemeArgument build() {
-            return new MethodSchemeArgument(shortName, longName, methodReference);
+            return new MethodSchemeArgument(shortName, longName, methodReference, independent, accumulation);
+        }
+    }
+
+    /**
+     * Argument value for a file that have not yet been opened.
+     */
+    private static final class FileValue {
+        private final String argumentValue;
+
+        private FileValue(String argumentValue) {
+            this.argumentValue = argumentValue;
+        }
+
+        @Override
+        public String toString() {
+            return argumentValue;
         }
     }
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.scheme;
+
+import me.raatiniemi.jcmdr.exception.InvokeArgumentException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Invoke the method using reflection, used for methods that are not
+ * accessible through a method handle.
+ */
+final class ReflectiveMethodInvoker implements MethodInvoker {
+    private static final MethodType CONVERT = MethodType.methodType(Object.class, String.class);
+
+    private final Method method;
+    private final MethodHandle valueConverter;
+
+    ReflectiveMethodInvoker(Method method, MethodHandle valueConverter) {
+        this.method = method;
+
+        if (isNull(valueConverter)) {
+            this.valueConverter = null;
+            return;
+        }
+
+        this.valueConverter = valueConverter.asType(CONVERT);
+    }
+
+    @Override
+    public void invoke(Object target) {
+        try {
+            method.invoke(target);
+        } catch (InvocationTargetException | IllegalAccessException | IllegalArgumentException e) {
+            throw new InvokeArgumentException(e);
+        }
+    }
+
+    @Override
+    public void invoke(Object target, String argumentValue) {
+        invokeConverted(target, convert(argumentValue));
+    }
+
+    @Override
+    public void invokeConverted(Object target, Object convertedValue) {
+        try {
+            method.invoke(target, convertedValue);
+        } catch (InvocationTargetException | IllegalAccessException | IllegalArgumentException e) {
+            throw new InvokeArgumentException(e);
+        }
+    }
+
+    @Override
+    public Object convert(String argumentValue) {
+        if (isNull(valueConverter)) {
+            return argumentValue;
+        }
+
+        try {
+            return (Object) valueConverter.invokeExact(argumentValue);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new InvokeArgumentException(new InvocationTargetException(e));
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.scheme;
+
+import me.raatiniemi.jcmdr.scheme.exception.AmbiguousLongNameException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Immutable argument scheme, compiled once and shareable between threads.
+ */
+public final class Scheme {
+    /**
+     * Returned by {@link #lookup} when an abbreviated long name match more
+     * than one long name.
+     */
+    public static final int AMBIGUOUS = -2;
+
+    private static final Scheme EMPTY = new Scheme(Collections.emptyList());
+    private static final int MISSING = -1;
+
+    private final List<SchemeArgument> arguments;
+    private final SchemeIndex index;
+    private final LongNameTrie abbreviations;
+
+    private volatile Scheme withAbbreviations;
+
+    private Scheme(List<SchemeArgument> arguments) {
+        this(arguments, SchemeIndex.build(arguments), null);
+    }
+
+    private Scheme(List<SchemeArgument> arguments, SchemeIndex index, LongNameTrie abbreviations) {
+        this.arguments = arguments;
+        this.index = index;
+        this.abbreviations = abbreviations;
+    }
+
+    /**
+     * Compile the scheme from the scheme arguments.
+     *
+     * @param arguments Scheme arguments to include in the scheme.
+     * @return Scheme containing the scheme arguments.
+     */
+    public static Scheme of(List<SchemeArgument> arguments) {
+        if (isNull(arguments) || arguments.isEmpty()) {
+            return EMPTY;
+        }
+
+        return new Scheme(Collections.unmodifiableList(new ArrayList<>(arguments)));
+    }
+
+    /**
+     * Get the scheme arguments, in the order they were compiled.
+     *
+     * @return Unmodifiable list of the scheme arguments.
+     */
+    public List<SchemeArgument> getArguments() {
+        return arguments;
+    }
+
+    /**
+     * Get the scheme argument with the ordinal.
+     *
+     * @param ordinal Ordinal of the scheme argument, as returned by {@link #indexOf}.
+     * @return Scheme argument with the ordinal.
+     */
+    public SchemeArgument get(int ordinal) {
+        return arguments.get(ordinal);
+    }
+
+    /**
+     * Get the scheme with support for abbreviated long names, e.g.
+     * {@code --verb} for {@code --verbose}, as long as the abbreviation only
+     * match a single long name. Exact matches take precedence over
+     * abbreviations, and abbreviations must be at least two characters.
+     *
+     * The prefix trie used for resolving abbreviations is built once per scheme.
+     *
+     * @return Scheme with support for abbreviated long names.
+     */
+    public Scheme withAbbreviations() {
+        if (nonNull(abbreviations)) {
+            return this;
+        }
+
+        Scheme scheme = withAbbreviations;
+        if (isNull(scheme)) {
+            scheme = new Scheme(arguments, index, LongNameTrie.build(arguments));
+            withAbbreviations = scheme;
+        }
+
+        return scheme;
+    }
+
+    public int size() {
+        return arguments.size();
+    }
+
+    public boolean isEmpty() {
+        return arguments.isEmpty();
+    }
+
+    /**
+     * Find the scheme argument matching the region of the argument.
+     *
+     * Single character arguments are matched against the short names, other
+     * arguments are matched case-insensitively against the long names, or the
+     * abbreviated long names if supported by the scheme.
+     *
+     * @param argument  Character sequence containing the argument name.
+     * @param start     Index of the first character of the argument name.
+     * @param end       Index after the last character of the argument name.
+     * @param withValue Whether the argument is supplied with a value.
+     * @return Ordinal of the matching scheme argument, or -1 if none match.
+     * @throws AmbiguousLongNameException If the abbreviated long name match more than one long name.
+     */
+    public int indexOf(CharSequence argument, int start, int end, boolean withValue) {
+        int length = end - start;
+        if (0 == length) {
+            return MISSING;
+        }
+
+        if (1 == length) {
+            return index.indexOfShortName(argument.charAt(start), withValue);
+        }
+
+        int ordinal = index.indexOfLongName(argument, start, end, withValue);
+        if (MISSING != ordinal || isNull(abbreviations)) {
+            return ordinal;
+        }
+
+        return indexOfAbbreviation(argument, start, end, withValue);
+    }
+
+    /**
+     * Find the scheme argument matching the region of the argument, without
+     * throwing if an abbreviated long name is ambiguous.
+     *
+     * @param argument  Character sequence containing the argument name.
+     * @param start     Index of the first character of the argument name.
+     * @param end       Index after the last character of the argument name.
+     * @param withValue Whether the argument is supplied with a value.
+     * @return Ordinal of the matching scheme argument, -1 if none match, or
+     * {@link #AMBIGUOUS} if the abbreviated long name match more than one long name.
+     * @see #indexOf(CharSequence, int, int, boolean)
+     */
+    public int lookup(CharSequence argument, int start, int end, boolean withValue) {
+        if (end - start < 2 || isNull(abbreviations)) {
+            return indexOf(argument, start, end, withValue);
+        }
+
+        int ordinal = index.indexOfLongName(argument, start, end, withValue);
+        if (MISSING != ordinal) {
+            return ordinal;
+        }
+
+        if (abbreviations.isAmbiguous(argument, start, end)) {
+            return AMBIGUOUS;
+        }
+
+        return indexOfAbbreviation(argument, start, end, withValue);
+    }
+
+    private int indexOfAbbreviation(CharSequence argument, int start, int end, boolean withValue) {
+        String longName = abbreviations.resolve(argument, start, end);
+        if (isNull(longName)) {
+            return MISSING;
+        }
+
+        return index.indexOfLongName(longName, 0, longName.length(), withValue);
+    }
+
+    @Override
+    public String toString() {
+        return arguments.toString();
+    }
+}
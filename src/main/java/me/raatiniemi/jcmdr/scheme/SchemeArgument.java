@@ -16,12 +16,76 @@
 
 package me.raatiniemi.jcmdr.scheme;
 
+import me.raatiniemi.jcmdr.exception.InvalidArgumentValueException;
+import me.raatiniemi.jcmdr.scheme.annotation.Accumulation;
 import me.raatiniemi.jcmdr.scheme.annotation.Argument;
 
 /**
  * Represent argument scheme parsed from method with {@link Argument} annotation.
  */
 public interface SchemeArgument {
+    /**
+     * Get the short name for the argument scheme.
+     *
+     * Scheme arguments without names are matched using {@link #validate},
+     * instead of being looked up by name.
+     *
+     * @return Short name, or null if the argument scheme have no short name.
+     */
+    default String getShortName() {
+        return null;
+    }
+
+    /**
+     * Get the long name, in lower case, for the argument scheme.
+     *
+     * @return Long name, or null if the argument scheme have no long name.
+     */
+    default String getLongName() {
+        return null;
+    }
+
+    /**
+     * Check whether the method associated with the argument scheme can be
+     * invoked concurrently with the methods of other argument schemes.
+     *
+     * @return True if the method is independent of other methods, otherwise false.
+     */
+    default boolean isIndependent() {
+        return false;
+    }
+
+    /**
+     * Get how repeated occurrences of the argument are passed to the method.
+     *
+     * @return Accumulation of repeated occurrences of the argument.
+     */
+    default Accumulation getAccumulation() {
+        return Accumulation.DISTINCT;
+    }
+
+    /**
+     * Get the type of the value passed to the method associated with the
+     * argument scheme, e.g. to accumulate repeated occurrences.
+     *
+     * @return Type of the value, or null if the method do not take a value, or if the type is unknown.
+     */
+    default Class<?> getValueType() {
+        return null;
+    }
+
+    /**
+     * Check whether the method associated with the argument scheme accept the
+     * argument value as a {@link CharSequence}, i.e. the argument value can be
+     * passed to {@link #callConverted} as a view over the argument, without
+     * copying the argument value.
+     *
+     * @return True if the method accept the argument value as a character sequence, otherwise false.
+     */
+    default boolean acceptsCharSequence() {
+        return false;
+    }
+
     /**
      * Validate the argument, and value types, against the argument scheme.
      *
@@ -39,4 +103,43 @@ public interface SchemeArgument {
      * @param <T>           Type reference of the the target class.
      */
     <T> void call(T target, String argumentValue);
+
+    /**
+     * Convert the argument value to the type expected by the argument scheme,
+     * e.g. to convert the value once and call the method any number of times.
+     *
+     * @param argumentValue Argument value to convert.
+     * @return Converted argument value.
+     * @throws InvalidArgumentValueException If the argument value could not be converted.
+     */
+    default Object convert(String argumentValue) {
+        return argumentValue;
+    }
+
+    /**
+     * Check whether the argument value can be converted to the type expected
+     * by the argument scheme, without converting the value or throwing, e.g.
+     * for validating arguments.
+     *
+     * Values passing the check may still fail the conversion, i.e. when the
+     * conversion can not be checked up front.
+     *
+     * @param argumentValue Argument value to check.
+     * @return False if the argument value can not be converted, otherwise true.
+     */
+    default boolean isValidValue(String argumentValue) {
+        return true;
+    }
+
+    /**
+     * Call the method associated with the argument scheme with an argument
+     * value converted with {@link #convert(String)}.
+     *
+     * @param target         Target class on which to call the method.
+     * @param convertedValue Converted argument value with which to call the method.
+     * @param <T>            Type reference of the the target class.
+     */
+    default <T> void callConverted(T target, Object convertedValue) {
+        call(target, (String) convertedValue);
+    }
 }
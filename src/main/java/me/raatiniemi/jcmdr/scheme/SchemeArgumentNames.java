@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.scheme;
+
+import me.raatiniemi.jcmdr.scheme.exception.InvalidLongNameException;
+import me.raatiniemi.jcmdr.scheme.exception.InvalidSchemeArgumentException;
+import me.raatiniemi.jcmdr.scheme.exception.InvalidShortNameException;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Validation of the names shared by the scheme argument implementations.
+ */
+final class SchemeArgumentNames {
+    private SchemeArgumentNames() {
+    }
+
+    static String validateShortName(String shortName) {
+        if (1 != shortName.length()) {
+            throw new InvalidShortNameException(
+                    "Short name must be one character"
+            );
+        }
+
+        return shortName;
+    }
+
+    static String validateLongName(String longName) {
+        if (1 == longName.length()) {
+            throw new InvalidLongNameException(
+                    "Long name can not be one character"
+            );
+        }
+
+        return longName.toLowerCase();
+    }
+
+    static void requireName(String shortName, String longName) {
+        if (isNull(shortName) && isNull(longName)) {
+            throw new InvalidSchemeArgumentException(
+                    "Short and/or long name must be supplied"
+            );
+        }
+    }
+
+    static boolean matches(String argument, String shortName, String longName) {
+        return argument.equals(shortName)
+                || argument.equalsIgnoreCase(longName);
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.scheme;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Lookup table from argument names to ordinals within a compiled scheme.
+ *
+ * Short names are kept in a table keyed by character, long names are kept in
+ * an open addressing hash table which is probed with a region of the argument
+ * without creating intermediate strings. Since the long names have already been
+ * lower cased by the builder, the table is probed case-insensitively.
+ *
+ * Scheme arguments without names, e.g. implemented outside of jcmdr, are not
+ * kept in the tables and are matched using {@link SchemeArgument#validate}.
+ */
+final class SchemeIndex {
+    private static final int MISSING = -1;
+    private static final int ASCII_TABLE_SIZE = 128;
+
+    private final int[] shortNamesWithoutValue = createAsciiTable();
+    private final int[] shortNamesWithValue = createAsciiTable();
+    private final Map<Character, int[]> unicodeShortNames = new HashMap<>();
+
+    private final String[] longNames;
+    private final int[] longNamesWithoutValue;
+    private final int[] longNamesWithValue;
+    private final int mask;
+
+    private final List<Integer> unnamedOrdinals = new ArrayList<>();
+    private final List<SchemeArgument> unnamedArguments = new ArrayList<>();
+
+    private SchemeIndex(int capacity) {
+        longNames = new String[capacity];
+        longNamesWithoutValue = createTable(capacity);
+        longNamesWithValue = createTable(capacity);
+        mask = capacity - 1;
+    }
+
+    static SchemeIndex build(List<SchemeArgument> arguments) {
+        SchemeIndex index = new SchemeIndex(calculateCapacity(arguments.size()));
+
+        for (int ordinal = 0; ordinal < arguments.size(); ordinal++) {
+            index.add(ordinal, arguments.get(ordinal));
+        }
+
+        return index;
+    }
+
+    private static int calculateCapacity(int size) {
+        int capacity = 2;
+        while (capacity < size * 2) {
+            capacity <<= 1;
+        }
+
+        return capacity;
+    }
+
+    private static int[] createAsciiTable() {
+        return createTable(ASCII_TABLE_SIZE);
+    }
+
+    private static int[] createTable(int size) {
+        int[] table = new int[size];
+        Arrays.fill(table, MISSING);
+
+        return table;
+    }
+
+    static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static int hash(CharSequence name, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + fold(name.charAt(i));
+        }
+
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean equalsIgnoreCase(String longName, CharSequence name, int start, int end) {
+        if (longName.length() != end - start) {
+            return false;
+        }
+
+        for (int i = 0; i < longName.length(); i++) {
+            char c1 = longName.charAt(i);
+            char c2 = name.charAt(start + i);
+
+            if (c1 != c2 && fold(c1) != fold(c2)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static void putIfMissing(int[] table, int slot, int ordinal) {
+        if (MISSING == table[slot]) {
+            table[slot] = ordinal;
+        }
+    }
+
+    private void add(int ordinal, SchemeArgument argument) {
+        String shortName = argument.getShortName();
+        String longName = argument.getLongName();
+        if (isNull(shortName) && isNull(longName)) {
+            unnamedOrdinals.add(ordinal);
+            unnamedArguments.add(argument);
+            return;
+        }
+
+        if (nonNull(shortName)) {
+            addShortName(ordinal, argument, shortName);
+        }
+
+        if (nonNull(longName)) {
+            addLongName(ordinal, argument, longName);
+        }
+    }
+
+    private void addShortName(int ordinal, SchemeArgument argument, String shortName) {
+        char name = shortName.charAt(0);
+
+        if (name < ASCII_TABLE_SIZE) {
+            if (argument.validate(shortName)) {
+                putIfMissing(shortNamesWithoutValue, name, ordinal);
+            }
+
+            if (argument.validate(shortName, String.class)) {
+                putIfMissing(shortNamesWithValue, name, ordinal);
+            }
+            return;
+        }
+
+        int[] ordinals = unicodeShortNames.computeIfAbsent(name, key -> new int[]{MISSING, MISSING});
+        if (argument.validate(shortName)) {
+            putIfMissing(ordinals, 0, ordinal);
+        }
+
+        if (argument.validate(shortName, String.class)) {
+            putIfMissing(ordinals, 1, ordinal);
+        }
+    }
+
+    private void addLongName(int ordinal, SchemeArgument argument, String longName) {
+        int slot = findSlot(longName, 0, longName.length());
+        if (isNull(longNames[slot])) {
+            longNames[slot] = longName;
+        }
+
+        if (argument.validate(longName)) {
+            putIfMissing(longNamesWithoutValue, slot, ordinal);
+        }
+
+        if (argument.validate(longName, String.class)) {
+            putIfMissing(longNamesWithValue, slot, ordinal);
+        }
+    }
+
+    private int findSlot(CharSequence name, int start, int end) {
+        int slot = hash(name, start, end) & mask;
+
+        while (nonNull(longNames[slot]) && !equalsIgnoreCase(longNames[slot], name, start, end)) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    /**
+     * Scheme arguments are matched in the order of the scheme, i.e. the lowest
+     * ordinal is used when both an indexed and an unnamed argument match.
+     */
+    private static int first(int ordinal, int unnamedOrdinal) {
+        if (MISSING == ordinal || MISSING == unnamedOrdinal) {
+            return Math.max(ordinal, unnamedOrdinal);
+        }
+
+        return Math.min(ordinal, unnamedOrdinal);
+    }
+
+    private int indexOfUnnamed(String name, boolean withValue) {
+        for (int i = 0; i < unnamedArguments.size(); i++) {
+            SchemeArgument argument = unnamedArguments.get(i);
+            boolean matches = withValue ? argument.validate(name, String.class) : argument.validate(name);
+            if (matches) {
+                return unnamedOrdinals.get(i);
+            }
+        }
+
+        return MISSING;
+    }
+
+    int indexOfShortName(char name, boolean withValue) {
+        int ordinal = indexOfIndexedShortName(name, withValue);
+        if (unnamedArguments.isEmpty()) {
+            return ordinal;
+        }
+
+        return first(ordinal, indexOfUnnamed(String.valueOf(name), withValue));
+    }
+
+    private int indexOfIndexedShortName(char name, boolean withValue) {
+        if (name < ASCII_TABLE_SIZE) {
+            return withValue ? shortNamesWithValue[name] : shortNamesWithoutValue[name];
+        }
+
+        int[] ordinals = unicodeShortNames.get(name);
+        if (isNull(ordinals)) {
+            return MISSING;
+        }
+
+        return withValue ? ordinals[1] : ordinals[0];
+    }
+
+    int indexOfLongName(CharSequence name, int start, int end, boolean withValue) {
+        int ordinal = indexOfIndexedLongName(name, start, end, withValue);
+        if (unnamedArguments.isEmpty()) {
+            return ordinal;
+        }
+
+        return first(ordinal, indexOfUnnamed(name.subSequence(start, end).toString(), withValue));
+    }
+
+    private int indexOfIndexedLongName(CharSequence name, int start, int end, boolean withValue) {
+        int slot = findSlot(name, start, end);
+        if (isNull(longNames[slot])) {
+            return MISSING;
+        }
+
+        return withValue ? longNamesWithValue[slot] : longNamesWithoutValue[slot];
+    }
+}
@@ -25,4 +25,14 @@ public interface SchemeParser {
      * @return Argument scheme parsed from the target.
      */
     List<SchemeArgument> parse();
+
+    /**
+     * Get the class the argument scheme is parsed from, e.g. used to verify
+     * that a generated parser have been generated for the expected class.
+     *
+     * @return Class the argument scheme is parsed from, or null if not known.
+     */
+    default Class<?> getTarget() {
+        return null;
+    }
 }
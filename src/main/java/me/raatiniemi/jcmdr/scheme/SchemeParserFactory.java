@@ -16,7 +16,23 @@
 
 package me.raatiniemi.jcmdr.scheme;
 
+import static java.util.Objects.isNull;
+
+/**
+ * Create the scheme parser for a target class.
+ *
+ * If the scheme parser have been generated at compile time, i.e. by the
+ * {@code ArgumentProcessor}, the generated parser is used. Otherwise the
+ * scheme is parsed from the class using reflection, e.g. if the generated
+ * parser is stale and have been generated for a different class.
+ */
 public final class SchemeParserFactory {
+    /**
+     * Suffix appended to the binary name of the target class for generated
+     * scheme parsers, must be kept in sync with the {@code ArgumentProcessor}.
+     */
+    private static final String GENERATED_PARSER_SUFFIX = "_SchemeParser";
+
     private SchemeParserFactory() {
     }
 
@@ -26,7 +42,47 @@ public final class SchemeParserFactory {
         return factory.create(target);
     }
 
+    private static String getGeneratedParserName(Class<?> target) {
+        return target.getName() + GENERATED_PARSER_SUFFIX;
+    }
+
+    private static ClassLoader getClassLoader(Class<?> target) {
+        ClassLoader classLoader = target.getClassLoader();
+        if (isNull(classLoader)) {
+            return ClassLoader.getSystemClassLoader();
+        }
+
+        return classLoader;
+    }
+
     private SchemeParser create(Class<?> target) {
-        return new ClassParser(target);
+        SchemeParser generatedParser = createGeneratedParser(target);
+        if (isNull(generatedParser)) {
+            return new ClassParser(target);
+        }
+
+        return generatedParser;
+    }
+
+    private SchemeParser createGeneratedParser(Class<?> target) {
+        try {
+            Class<?> parser = Class.forName(
+                    getGeneratedParserName(target),
+                    true,
+                    getClassLoader(target)
+            );
+            if (!SchemeParser.class.isAssignableFrom(parser)) {
+                return null;
+            }
+
+            SchemeParser generatedParser = (SchemeParser) parser.getConstructor().newInstance();
+            if (target != generatedParser.getTarget()) {
+                return null;
+            }
+
+            return generatedParser;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
     }
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.scheme;
+
+import me.raatiniemi.jcmdr.listener.ParseListener;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Cache for schemes compiled from target classes.
+ *
+ * Each class is only parsed once, subsequent lookups return the same
+ * {@link Scheme} instance. Since the cache is backed by {@link ClassValue},
+ * the compiled scheme do not prevent the class, or its class loader, from
+ * being unloaded.
+ */
+public final class SchemeRegistry {
+    private static volatile ClassValue<SchemeHolder> schemes = createSchemeCache();
+
+    private SchemeRegistry() {
+    }
+
+    private static ClassValue<SchemeHolder> createSchemeCache() {
+        return new ClassValue<SchemeHolder>() {
+            @Override
+            protected SchemeHolder computeValue(Class<?> type) {
+                return new SchemeHolder();
+            }
+        };
+    }
+
+    private static Scheme compile(Class<?> target) {
+        SchemeParser parser = SchemeParserFactory.createFor(target);
+
+        return Scheme.of(parser.parse());
+    }
+
+    /**
+     * Get the scheme for the target class, compiling it on first use.
+     *
+     * @param target Class used for parsing the argument scheme.
+     * @return Scheme compiled from the target class.
+     */
+    public static Scheme schemeFor(Class<?> target) {
+        return schemeFor(target, ParseListener.NONE);
+    }
+
+    /**
+     * Get the scheme for the target class, compiling it on first use.
+     *
+     * @param target   Class used for parsing the argument scheme.
+     * @param listener Listener notified if the scheme is compiled by this lookup.
+     * @return Scheme compiled from the target class.
+     */
+    public static Scheme schemeFor(Class<?> target, ParseListener listener) {
+        return schemes.get(target).get(target, listener);
+    }
+
+    /**
+     * Evict the compiled scheme for the target class, e.g. after the class
+     * have been reloaded. The scheme is compiled again on next lookup.
+     *
+     * @param target Class for which to evict the compiled scheme.
+     */
+    public static void invalidate(Class<?> target) {
+        schemes.remove(target);
+    }
+
+    /**
+     * Evict every compiled scheme.
+     */
+    public static void invalidateAll() {
+        schemes = createSchemeCache();
+    }
+
+    /**
+     * Holder for the scheme, compiled lazily so that the lookup compiling the
+     * scheme can notify its listener.
+     */
+    private static final class SchemeHolder {
+        private volatile Scheme scheme;
+
+        private Scheme get(Class<?> target, ParseListener listener) {
+            Scheme scheme = this.scheme;
+            if (nonNull(scheme)) {
+                return scheme;
+            }
+
+            synchronized (this) {
+                if (nonNull(this.scheme)) {
+                    return this.scheme;
+                }
+
+                long start = System.nanoTime();
+                scheme = compile(target);
+                this.scheme = scheme;
+
+                listener.schemeCompiled(target, scheme, System.nanoTime() - start);
+                return scheme;
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.scheme.annotation;
+
+/**
+ * Define how repeated occurrences of an argument are passed to the method.
+ *
+ * Except for {@link #DISTINCT}, the method is invoked once with the
+ * accumulated value, in the position of the first occurrence.
+ */
+public enum Accumulation {
+    /**
+     * Invoke the method once for each distinct occurrence, i.e. identical
+     * occurrences are only invoked once.
+     */
+    DISTINCT,
+    /**
+     * Invoke the method with the number of occurrences. The method must have
+     * a single {@code int} or {@code long} parameter, and the argument is
+     * given without a value, e.g. {@code -v -v -v}.
+     */
+    COUNT,
+    /**
+     * Invoke the method with the first occurrence.
+     */
+    FIRST,
+    /**
+     * Invoke the method with the last occurrence.
+     */
+    LAST,
+    /**
+     * Invoke the method with the values of every occurrence, in the order
+     * they occur. The method must have a single {@code int[]}, {@code long[]}
+     * or {@code List<String>} parameter.
+     */
+    COLLECT
+}
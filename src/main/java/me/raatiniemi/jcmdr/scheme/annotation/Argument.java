@@ -46,4 +46,25 @@ public @interface Argument {
      * @return Long name for the argument scheme.
      */
     String longName() default "";
+
+    /**
+     * Define whether the method is independent of the other methods, i.e.
+     * the method can be invoked concurrently with the other methods when the
+     * arguments are applied asynchronously.
+     *
+     * Methods that are not independent are invoked in the order of the
+     * arguments, one at a time.
+     *
+     * @return True if the method is independent of the other methods, otherwise false.
+     */
+    boolean independent() default false;
+
+    /**
+     * Define how repeated occurrences of the argument are passed to the
+     * method, e.g. to count the occurrences of {@code -v}, or to collect the
+     * values of {@code --include}.
+     *
+     * @return Accumulation of repeated occurrences of the argument.
+     */
+    Accumulation accumulation() default Accumulation.DISTINCT;
 }
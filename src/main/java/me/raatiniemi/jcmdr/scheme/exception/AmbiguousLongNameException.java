@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.scheme.exception;
+
+import java.util.Set;
+
+/**
+ * Represent an exception for an abbreviated long name matching more than one
+ * long name within the scheme.
+ */
+public class AmbiguousLongNameException extends RuntimeException {
+    private final String abbreviation;
+    private final Set<String> candidates;
+
+    public AmbiguousLongNameException(String abbreviation, Set<String> candidates) {
+        super("Abbreviation \"" + abbreviation + "\" is ambiguous, candidates: " + candidates);
+
+        this.abbreviation = abbreviation;
+        this.candidates = candidates;
+    }
+
+    public String getAbbreviation() {
+        return abbreviation;
+    }
+
+    /**
+     * @return Long names, in lower case, starting with the abbreviation.
+     */
+    public Set<String> getCandidates() {
+        return candidates;
+    }
+}
@@ -0,0 +1,351 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr;
+
+import me.raatiniemi.jcmdr.argument.ArgumentSources;
+import me.raatiniemi.jcmdr.argument.Diagnostic;
+import me.raatiniemi.jcmdr.argument.ParseContext;
+import me.raatiniemi.jcmdr.argument.ParseResult;
+import me.raatiniemi.jcmdr.argument.ValidationResult;
+import me.raatiniemi.jcmdr.exception.InvalidArgumentValueException;
+import me.raatiniemi.jcmdr.listener.ParseListener;
+import me.raatiniemi.jcmdr.scheme.annotation.Accumulation;
+import me.raatiniemi.jcmdr.scheme.annotation.Argument;
+import me.raatiniemi.jcmdr.scheme.exception.InvalidSchemeArgumentException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(JUnit4.class)
+public class CommandLineAccumulationTest {
+    private final CommandLine<Target> commandLine = CommandLine.compile(Target.class);
+
+    @Test
+    public void apply_withCount() {
+        Target target = new Target();
+
+        commandLine.apply(target, "-v", "-v", "--quiet", "-v", "--quiet");
+
+        assertEquals(1, target.invocations);
+        assertEquals(3, target.verbosity);
+        assertEquals(2L, target.quietness);
+    }
+
+    @Test
+    public void apply_withFirstAndLast() {
+        Target target = new Target();
+
+        commandLine.apply(target, "--profile=dev", "--level=debug", "--profile='prod'", "--level='info'");
+
+        assertEquals("dev", target.profile);
+        assertEquals("info", target.level);
+        assertEquals(Arrays.asList("profile", "level"), target.calls);
+    }
+
+    @Test
+    public void apply_withCollect() {
+        Target target = new Target();
+
+        commandLine.apply(target, "--include=a", "--port=80", "--include='b'", "--port=-443", "--offset=9000000000");
+
+        assertEquals(Arrays.asList("a", "b"), target.includes);
+        assertArrayEquals(new int[]{80, -443}, target.ports);
+        assertArrayEquals(new long[]{9000000000L}, target.offsets);
+        assertEquals(Arrays.asList("include", "port", "offset"), target.calls);
+    }
+
+    @Test
+    public void apply_withCollectedValues() {
+        Target target = new Target();
+        List<String> arguments = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            arguments.add("--include=src/" + i);
+            arguments.add("--port=" + i);
+        }
+
+        commandLine.apply(target, arguments.toArray(new String[0]));
+
+        assertEquals(2, target.invocations);
+        assertEquals(500, target.includes.size());
+        assertEquals("src/499", target.includes.get(499));
+        assertEquals(500, target.ports.length);
+        assertEquals(499, target.ports[499]);
+    }
+
+    @Test
+    public void apply_withParseContext() {
+        ParseContext context = ParseContext.create();
+        Target target = new Target();
+        commandLine.apply(target, context, "-v", "-v", "--port=1", "--port=2");
+
+        Target reusedTarget = new Target();
+        commandLine.apply(reusedTarget, context, "-v", "--port=3");
+
+        assertEquals(2, target.verbosity);
+        assertArrayEquals(new int[]{1, 2}, target.ports);
+        assertEquals(1, reusedTarget.verbosity);
+        assertArrayEquals(new int[]{3}, reusedTarget.ports);
+    }
+
+    @Test
+    public void apply_withListener() {
+        CommandLine<Target> commandLine = CommandLine.builder(Target.class)
+                .listener(new ParseListener() {
+                })
+                .build();
+        Target target = new Target();
+
+        commandLine.apply(target, "-v", "--port=1", "-v", "--level=debug", "--level=info", "--port=2");
+
+        assertEquals(2, target.verbosity);
+        assertArrayEquals(new int[]{1, 2}, target.ports);
+        assertEquals("info", target.level);
+        assertEquals(Arrays.asList("verbose", "port", "level"), target.calls);
+    }
+
+    @Test
+    public void apply_withListenerInSameOrder() {
+        String[] arguments = {"--level=debug", "-v", "--debug", "--level=info", "-v"};
+        CommandLine<Target> listenedCommandLine = CommandLine.builder(Target.class)
+                .listener(new ParseListener() {
+                })
+                .build();
+        Target target = new Target();
+        Target listenedTarget = new Target();
+        Target validatedTarget = new Target();
+
+        commandLine.apply(target, arguments);
+        listenedCommandLine.apply(listenedTarget, arguments);
+        commandLine.validate(arguments).getParseResult().applyTo(validatedTarget);
+
+        assertEquals(Arrays.asList("level", "verbose", "debug"), target.calls);
+        assertEquals(target.calls, listenedTarget.calls);
+        assertEquals(target.calls, validatedTarget.calls);
+        assertEquals("info", listenedTarget.level);
+        assertEquals(2, listenedTarget.verbosity);
+    }
+
+    @Test
+    public void apply_withArgumentSource() {
+        Target target = new Target();
+
+        commandLine.apply(target, ArgumentSources.of("--level=debug", "-v", "--level=info", "-v"));
+
+        assertEquals(2, target.verbosity);
+        assertEquals("info", target.level);
+        assertEquals(Arrays.asList("level", "verbose"), target.calls);
+    }
+
+    @Test(expected = InvalidArgumentValueException.class)
+    public void apply_withInvalidNumber() {
+        commandLine.apply(new Target(), "--port=1", "--port=eighty");
+    }
+
+    @Test(expected = InvalidArgumentValueException.class)
+    public void apply_withNumberOutOfRange() {
+        commandLine.apply(new Target(), "--port=2147483648");
+    }
+
+    @Test
+    public void parse_applyToTwice() {
+        ParseResult parseResult = commandLine.parse("-v", "--port=1", "-v", "--port=2");
+        Target target = new Target();
+        Target otherTarget = new Target();
+
+        parseResult.applyTo(target);
+        target.ports[0] = 0;
+        parseResult.applyTo(otherTarget);
+
+        assertEquals(2, parseResult.size());
+        assertEquals(2, otherTarget.verbosity);
+        assertArrayEquals(new int[]{1, 2}, otherTarget.ports);
+    }
+
+    @Test
+    public void validate_withInvalidNumber() {
+        ValidationResult result = commandLine.validate("--port=1", "--port=eighty", "--port=3");
+        Target target = new Target();
+
+        result.getParseResult().applyTo(target);
+
+        assertEquals(1, result.getDiagnostics().size());
+        assertEquals(Diagnostic.Kind.INVALID_VALUE, result.getDiagnostics().get(0).getKind());
+        assertEquals(1, result.getDiagnostics().get(0).getArgumentIndex());
+        assertArrayEquals(new int[]{1, 3}, target.ports);
+    }
+
+    @Test
+    public void validate_withoutValidNumber() {
+        ValidationResult result = commandLine.validate("--port=eighty");
+        Target target = new Target();
+
+        result.getParseResult().applyTo(target);
+
+        assertEquals(1, result.getDiagnostics().size());
+        assertNull(target.ports);
+    }
+
+    @Test
+    public void validate_withFirstAndLast() {
+        ValidationResult result = commandLine.validate("--level=debug", "--profile=dev", "--level=info", "--profile=prod");
+        Target target = new Target();
+
+        result.getParseResult().applyTo(target);
+
+        assertEquals(2, result.getParseResult().size());
+        assertEquals("info", target.level);
+        assertEquals("dev", target.profile);
+    }
+
+    @Test(expected = InvalidSchemeArgumentException.class)
+    public void compile_withInvalidCount() {
+        CommandLine.compile(InvalidCount.class);
+    }
+
+    @Test(expected = InvalidSchemeArgumentException.class)
+    public void compile_withInvalidCollect() {
+        CommandLine.compile(InvalidCollect.class);
+    }
+
+    @Test(expected = InvalidSchemeArgumentException.class)
+    public void compile_withInvalidCollectList() {
+        CommandLine.compile(InvalidCollectList.class);
+    }
+
+    @Test(expected = InvalidSchemeArgumentException.class)
+    public void compile_withRawCollectList() {
+        CommandLine.compile(RawCollectList.class);
+    }
+
+    @Test
+    public void apply_withWildcardCollectList() {
+        WildcardCollectList target = new WildcardCollectList();
+
+        CommandLine.compile(WildcardCollectList.class).apply(target, "--include=a", "--include=b");
+
+        assertEquals(Arrays.asList("a", "b"), target.includes);
+    }
+
+    @SuppressWarnings({"WeakerAccess", "unused"})
+    public static class Target {
+        final List<String> calls = new ArrayList<>();
+        int invocations;
+        int verbosity;
+        long quietness;
+        String profile;
+        String level;
+        List<String> includes;
+        int[] ports;
+        long[] offsets;
+
+        @Argument(shortName = "v", accumulation = Accumulation.COUNT)
+        public void verbose(int verbosity) {
+            invocations++;
+            calls.add("verbose");
+            this.verbosity = verbosity;
+        }
+
+        @Argument(longName = "debug")
+        public void debug() {
+            calls.add("debug");
+        }
+
+        @Argument(longName = "quiet", accumulation = Accumulation.COUNT)
+        public void quiet(Long quietness) {
+            calls.add("quiet");
+            this.quietness = quietness;
+        }
+
+        @Argument(longName = "profile", accumulation = Accumulation.FIRST)
+        public void profile(String profile) {
+            calls.add("profile");
+            this.profile = profile;
+        }
+
+        @Argument(longName = "level", accumulation = Accumulation.LAST)
+        public void level(String level) {
+            calls.add("level");
+            this.level = level;
+        }
+
+        @Argument(longName = "include", accumulation = Accumulation.COLLECT)
+        public void include(List<String> includes) {
+            invocations++;
+            calls.add("include");
+            this.includes = includes;
+        }
+
+        @Argument(longName = "port", accumulation = Accumulation.COLLECT)
+        public void port(int[] ports) {
+            invocations++;
+            calls.add("port");
+            this.ports = ports;
+        }
+
+        @Argument(longName = "offset", accumulation = Accumulation.COLLECT)
+        public void offset(long[] offsets) {
+            calls.add("offset");
+            this.offsets = offsets;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class InvalidCount {
+        @Argument(shortName = "v", accumulation = Accumulation.COUNT)
+        public void verbose() {
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class InvalidCollect {
+        @Argument(longName = "include", accumulation = Accumulation.COLLECT)
+        public void include(String include) {
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class InvalidCollectList {
+        @Argument(longName = "port", accumulation = Accumulation.COLLECT)
+        public void port(List<Integer> ports) {
+        }
+    }
+
+    @SuppressWarnings({"unused", "rawtypes"})
+    public static class RawCollectList {
+        @Argument(longName = "include", accumulation = Accumulation.COLLECT)
+        public void include(List includes) {
+        }
+    }
+
+    @SuppressWarnings({"WeakerAccess", "unused"})
+    public static class WildcardCollectList {
+        List<? extends CharSequence> includes;
+
+        @Argument(longName = "include", accumulation = Accumulation.COLLECT)
+        public void include(List<? extends CharSequence> includes) {
+            this.includes = includes;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr;
+
+import me.raatiniemi.jcmdr.argument.exception.UnevenQuotesException;
+import me.raatiniemi.jcmdr.exception.InvokeArgumentException;
+import me.raatiniemi.jcmdr.scheme.annotation.Argument;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(JUnit4.class)
+public class CommandLineApplyAsyncTest {
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final CommandLine<AsyncTarget> commandLine = CommandLine.compile(AsyncTarget.class);
+
+    @After
+    public void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void applyAsync() throws Exception {
+        AsyncTarget target = new AsyncTarget();
+
+        commandLine.applyAsync(target, executor, "-a", "--first-store", "-b", "--second-store", "-c")
+                .get(10, TimeUnit.SECONDS);
+
+        assertEquals(Arrays.asList("a", "b", "c"), target.ordered);
+        assertTrue(target.stores.containsAll(Arrays.asList("first", "second")));
+    }
+
+    @Test
+    public void applyAsync_withConcurrentIndependentHandlers() throws Exception {
+        AsyncTarget target = new AsyncTarget();
+        target.latch = new CountDownLatch(2);
+
+        commandLine.applyAsync(target, executor, "--first-store", "--second-store")
+                .get(10, TimeUnit.SECONDS);
+
+        assertEquals(0, target.latch.getCount());
+    }
+
+    @Test
+    public void applyAsync_withoutArguments() throws Exception {
+        AsyncTarget target = new AsyncTarget();
+
+        commandLine.applyAsync(target, executor).get(10, TimeUnit.SECONDS);
+
+        assertTrue(target.ordered.isEmpty());
+    }
+
+    @Test
+    public void applyAsync_withFailingHandler() throws Exception {
+        try {
+            commandLine.applyAsync(new AsyncTarget(), executor, "-a", "--fail")
+                    .get(10, TimeUnit.SECONDS);
+            fail("Expected failing handler");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof InvokeArgumentException);
+        }
+    }
+
+    @Test
+    public void applyAsync_withInvalidArguments() throws Exception {
+        try {
+            commandLine.applyAsync(new AsyncTarget(), executor, "--name=\"uneven")
+                    .get(10, TimeUnit.SECONDS);
+            fail("Expected uneven quotes");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof UnevenQuotesException);
+        }
+    }
+
+    @SuppressWarnings({"WeakerAccess", "unused"})
+    public static class AsyncTarget {
+        final List<String> ordered = new ArrayList<>();
+        final List<String> stores = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(0);
+
+        private void awaitOtherStores() {
+            latch.countDown();
+            try {
+                if (!latch.await(5, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("Stores were not loaded concurrently");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Argument(shortName = "a")
+        public void a() {
+            ordered.add("a");
+        }
+
+        @Argument(shortName = "b")
+        public void b() {
+            ordered.add("b");
+        }
+
+        @Argument(shortName = "c")
+        public void c() {
+            ordered.add("c");
+        }
+
+        @Argument(longName = "first-store", independent = true)
+        public void firstStore() {
+            awaitOtherStores();
+            stores.add("first");
+        }
+
+        @Argument(longName = "second-store", independent = true)
+        public void secondStore() {
+            awaitOtherStores();
+            stores.add("second");
+        }
+
+        @Argument(longName = "name")
+        public void name(String name) {
+            ordered.add(name);
+        }
+
+        @Argument(longName = "fail")
+        public void fail() {
+            throw new IllegalStateException("failed");
+        }
+    }
+}
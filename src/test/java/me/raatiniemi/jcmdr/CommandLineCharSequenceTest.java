@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr;
+
+import me.raatiniemi.jcmdr.argument.ParseContext;
+import me.raatiniemi.jcmdr.scheme.annotation.Argument;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(JUnit4.class)
+public class CommandLineCharSequenceTest {
+    private final CommandLine<Target> commandLine = CommandLine.compile(Target.class);
+
+    @Test
+    public void apply() {
+        Target target = new Target();
+
+        commandLine.apply(target, "--payload='{\"key\": \"value\"}'", "--name='copied'");
+
+        assertFalse(target.payload instanceof String);
+        assertEquals("{\"key\": \"value\"}", target.payload.toString());
+        assertEquals("copied", target.name);
+    }
+
+    @Test
+    public void apply_withParseContext() {
+        Target target = new Target();
+
+        commandLine.apply(target, ParseContext.create(), "--payload=value");
+
+        assertFalse(target.payload instanceof String);
+        assertEquals("value", target.payload.toString());
+        assertEquals("lu", target.payload.subSequence(2, 4).toString());
+    }
+
+    @Test
+    public void apply_withEscapedQuotes() {
+        Target target = new Target();
+
+        commandLine.apply(target, "--payload=\"escaped \\\"value\\\"\"");
+
+        assertEquals("escaped \"value\"", target.payload.toString());
+    }
+
+    @Test
+    public void apply_withEmptyValue() {
+        Target target = new Target();
+
+        commandLine.apply(target, "--payload=");
+
+        assertEquals(0, target.payload.length());
+    }
+
+    @Test
+    public void parse_applyTo() {
+        Target target = new Target();
+
+        commandLine.parse("--payload='value'").applyTo(target);
+
+        assertTrue(target.payload instanceof String);
+        assertEquals("value", target.payload.toString());
+    }
+
+    @SuppressWarnings({"WeakerAccess", "unused"})
+    public static class Target {
+        CharSequence payload;
+        String name;
+
+        @Argument(longName = "payload")
+        public void payload(CharSequence payload) {
+            this.payload = payload;
+        }
+
+        @Argument(longName = "name")
+        public void name(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr;
+
+import me.raatiniemi.jcmdr.argument.ParseResult;
+import me.raatiniemi.jcmdr.argument.ValidationResult;
+import me.raatiniemi.jcmdr.exception.InvalidArgumentValueException;
+import me.raatiniemi.jcmdr.scheme.annotation.Argument;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(JUnit4.class)
+public class CommandLineFileValueTest {
+    private static final String CONTENT = "{\"key\": \"value\"}";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final CommandLine<Target> commandLine = CommandLine.compile(Target.class);
+    private String file;
+
+    private static String read(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String read(ReadableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(CONTENT.length() * 2);
+        while (channel.read(buffer) >= 0) {
+            if (!buffer.hasRemaining()) {
+                break;
+            }
+        }
+        buffer.flip();
+
+        return read(buffer);
+    }
+
+    private static String read(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] bytes = new byte[16];
+        int length;
+        while ((length = inputStream.read(bytes)) >= 0) {
+            outputStream.write(bytes, 0, length);
+        }
+
+        return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        Path path = temporaryFolder.newFile("payload.json").toPath();
+        Files.write(path, CONTENT.getBytes(StandardCharsets.UTF_8));
+
+        file = "@" + path;
+    }
+
+    @Test
+    public void apply_withByteBuffer() {
+        Target target = new Target();
+
+        commandLine.apply(target, "--buffer=" + file, "--mapped='" + file + "'");
+
+        assertEquals(CONTENT, target.buffer);
+        assertEquals(CONTENT, target.mapped);
+    }
+
+    @Test
+    public void apply_withChannel() {
+        Target target = new Target();
+
+        commandLine.apply(target, "--channel=" + file, "--file-channel=" + file);
+
+        assertEquals(CONTENT, target.channel);
+        assertEquals(CONTENT, target.fileChannel);
+        assertFalse(target.openChannel.isOpen());
+        assertFalse(target.openFileChannel.isOpen());
+    }
+
+    @Test
+    public void apply_withInputStream() {
+        Target target = new Target();
+
+        commandLine.apply(target, "--stream=" + file);
+
+        assertEquals(CONTENT, target.stream);
+        try {
+            target.openStream.read();
+            fail("Expected stream to be closed");
+        } catch (IOException e) {
+            // Expected, the stream have been closed after the method was invoked.
+        }
+    }
+
+    @Test
+    public void parse_applyTo() {
+        ParseResult parseResult = commandLine.parse("--channel=" + file);
+        Target first = new Target();
+        Target second = new Target();
+
+        parseResult.applyTo(first);
+        parseResult.applyTo(second);
+
+        assertEquals(CONTENT, first.channel);
+        assertEquals(CONTENT, second.channel);
+        assertNotSame(first.openChannel, second.openChannel);
+    }
+
+    @Test
+    public void validate_withoutOpeningFile() {
+        ValidationResult result = commandLine.validate("--channel=@missing.json");
+
+        assertTrue(result.isValid());
+    }
+
+    @Test(expected = InvalidArgumentValueException.class)
+    public void apply_withMissingFile() {
+        commandLine.apply(new Target(), "--channel=@" + temporaryFolder.getRoot().toPath().resolve("missing.json"));
+    }
+
+    @Test(expected = InvalidArgumentValueException.class)
+    public void apply_withoutPrefix() {
+        commandLine.apply(new Target(), "--channel=" + file.substring(1));
+    }
+
+    @SuppressWarnings({"WeakerAccess", "unused"})
+    public static class Target {
+        String buffer;
+        String mapped;
+        String channel;
+        String fileChannel;
+        String stream;
+        ReadableByteChannel openChannel;
+        FileChannel openFileChannel;
+        InputStream openStream;
+
+        @Argument(longName = "buffer")
+        public void buffer(ByteBuffer buffer) {
+            this.buffer = read(buffer);
+        }
+
+        @Argument(longName = "mapped")
+        public void mapped(MappedByteBuffer buffer) {
+            mapped = read(buffer);
+        }
+
+        @Argument(longName = "channel")
+        public void channel(ReadableByteChannel channel) {
+            openChannel = channel;
+            try {
+                this.channel = read(channel);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Argument(longName = "file-channel")
+        public void fileChannel(FileChannel channel) {
+            openFileChannel = channel;
+            try {
+                fileChannel = read(channel);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Argument(longName = "stream")
+        public void stream(InputStream stream) {
+            openStream = stream;
+            try {
+                this.stream = read(stream);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr;
+
+import me.raatiniemi.jcmdr.argument.BatchResult;
+import me.raatiniemi.jcmdr.argument.exception.UnevenQuotesException;
+import me.raatiniemi.jcmdr.exception.InvalidArgumentValueException;
+import me.raatiniemi.jcmdr.scheme.annotation.Argument;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(JUnit4.class)
+public class CommandLineParseAllTest {
+    private final CommandLine<Target> commandLine = CommandLine.compile(Target.class);
+
+    @Test
+    public void parseAll() {
+        List<BatchResult> results = commandLine.parseAll(Stream.of(
+                new String[]{"-d"},
+                new String[]{"--count=2", "-d"},
+                new String[]{}
+        )).collect(Collectors.toList());
+
+        assertEquals(3, results.size());
+        assertTrue(results.stream().allMatch(BatchResult::isSuccess));
+        assertEquals(1, results.get(0).getParseResult().size());
+        assertEquals(2, results.get(1).getParseResult().size());
+        assertTrue(results.get(2).getParseResult().isEmpty());
+    }
+
+    @Test
+    public void parseAll_withInvalidRows() {
+        String[] unevenQuotes = {"--name=\"value"};
+        String[] invalidValue = {"--count=two"};
+
+        List<BatchResult> results = commandLine.parseAll(Stream.of(
+                new String[]{"-d"},
+                unevenQuotes,
+                invalidValue
+        )).collect(Collectors.toList());
+
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertSame(unevenQuotes, results.get(1).getArguments());
+        assertTrue(results.get(1).getError() instanceof UnevenQuotesException);
+        assertFalse(results.get(2).isSuccess());
+        assertTrue(results.get(2).getError() instanceof InvalidArgumentValueException);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void getParseResult_withInvalidRow() {
+        commandLine.parseAll(Stream.<String[]>of(new String[]{"--count=two"}))
+                .findFirst()
+                .orElseThrow(AssertionError::new)
+                .getParseResult();
+    }
+
+    @Test
+    public void parseAll_withSpliterator() {
+        List<String[]> rows = IntStream.range(0, 10_000)
+                .mapToObj(i -> new String[]{"--count=" + i, "--name=row" + i})
+                .collect(Collectors.toList());
+
+        List<BatchResult> results = commandLine.parseAll(rows.spliterator())
+                .collect(Collectors.toList());
+
+        assertEquals(rows.size(), results.size());
+        for (int i = 0; i < rows.size(); i++) {
+            BatchResult result = results.get(i);
+            assertArrayEquals(rows.get(i), result.getArguments());
+
+            Target target = new Target();
+            result.getParseResult().applyTo(target);
+            assertEquals(Arrays.asList("count=" + i, "name=row" + i), target.calls);
+        }
+    }
+
+    @SuppressWarnings({"WeakerAccess", "unused"})
+    public static class Target {
+        final List<String> calls = new ArrayList<>();
+
+        @Argument(shortName = "d", longName = "debug")
+        public void debug() {
+            calls.add("debug");
+        }
+
+        @Argument(longName = "count")
+        public void count(Integer count) {
+            calls.add("count=" + count);
+        }
+
+        @Argument(longName = "name")
+        public void name(String name) {
+            calls.add("name=" + name);
+        }
+    }
+}
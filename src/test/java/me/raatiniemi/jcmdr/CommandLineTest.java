@@ -16,6 +16,8 @@
 
 package me.raatiniemi.jcmdr;
 
+import me.raatiniemi.jcmdr.argument.ParseCache;
+import me.raatiniemi.jcmdr.argument.ParseResult;
 import me.raatiniemi.jcmdr.scheme.annotation.Argument;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -197,6 +199,17 @@ public class CommandLineTest {
                                 new String[]{
                                         "--configuration-file='configuration.json'"
                                 }
+                        },
+                        {
+                                "Argument value containing space",
+                                new String[]{
+                                        "configuration-file=configuration file.json",
+                                        METHOD_DEBUG
+                                },
+                                new String[]{
+                                        "--configuration-file=configuration file.json",
+                                        "-d"
+                                }
                         }
                 }
         );
@@ -210,6 +223,59 @@ public class CommandLineTest {
         assertEquals(message, expected, argumentTarget.actualCallStack);
     }
 
+    @Test
+    public void apply() {
+        CommandLine<ArgumentTarget> commandLine = CommandLine.compile(ArgumentTarget.class);
+
+        ArgumentTarget firstTarget = new ArgumentTarget();
+        commandLine.apply(firstTarget, arguments);
+        ArgumentTarget secondTarget = new ArgumentTarget();
+        commandLine.apply(secondTarget, arguments);
+
+        assertEquals(message, expected, firstTarget.actualCallStack);
+        assertEquals(message, expected, secondTarget.actualCallStack);
+    }
+
+    @Test
+    public void apply_withParseCache() {
+        ParseCache parseCache = ParseCache.withCapacity(1);
+        CommandLine<ArgumentTarget> commandLine = CommandLine.builder(ArgumentTarget.class)
+                .parseCache(parseCache)
+                .build();
+
+        ArgumentTarget firstTarget = new ArgumentTarget();
+        commandLine.apply(firstTarget, arguments);
+        ArgumentTarget secondTarget = new ArgumentTarget();
+        commandLine.apply(secondTarget, arguments);
+
+        assertEquals(message, expected, firstTarget.actualCallStack);
+        assertEquals(message, expected, secondTarget.actualCallStack);
+        assertEquals(message, 1, parseCache.getHitCount());
+    }
+
+    @Test
+    public void parse() {
+        CommandLine<ArgumentTarget> commandLine = CommandLine.compile(ArgumentTarget.class);
+
+        ParseResult actual = commandLine.parse(arguments);
+
+        assertEquals(message, expected.size(), actual.size());
+    }
+
+    @Test
+    public void parse_applyTo() {
+        CommandLine<ArgumentTarget> commandLine = CommandLine.compile(ArgumentTarget.class);
+        ParseResult parseResult = commandLine.parse(arguments);
+
+        ArgumentTarget firstTarget = new ArgumentTarget();
+        parseResult.applyTo(firstTarget);
+        ArgumentTarget secondTarget = new ArgumentTarget();
+        parseResult.applyTo(secondTarget);
+
+        assertEquals(message, expected, firstTarget.actualCallStack);
+        assertEquals(message, expected, secondTarget.actualCallStack);
+    }
+
     @SuppressWarnings({"WeakerAccess", "unused"})
     public class ArgumentTarget {
         List<String> actualCallStack = new ArrayList<>();
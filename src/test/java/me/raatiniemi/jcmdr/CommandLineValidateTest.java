@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr;
+
+import me.raatiniemi.jcmdr.argument.Diagnostic;
+import me.raatiniemi.jcmdr.argument.ValidationResult;
+import me.raatiniemi.jcmdr.scheme.annotation.Argument;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(JUnit4.class)
+public class CommandLineValidateTest {
+    private final CommandLine<Target> commandLine = CommandLine.builder(Target.class)
+            .abbreviations(true)
+            .build();
+
+    private static void assertDiagnostic(
+            Diagnostic.Kind kind,
+            int argumentIndex,
+            String region,
+            Diagnostic diagnostic
+    ) {
+        assertEquals(kind, diagnostic.getKind());
+        assertEquals(argumentIndex, diagnostic.getArgumentIndex());
+        assertEquals(region, diagnostic.getArgument().substring(diagnostic.getStart(), diagnostic.getEnd()));
+    }
+
+    @Test
+    public void validate() {
+        ValidationResult result = commandLine.validate("-d", "--verbose-output", "--count=2");
+
+        assertTrue(result.isValid());
+        assertTrue(result.getDiagnostics().isEmpty());
+        assertEquals(3, result.getParseResult().size());
+    }
+
+    @Test
+    public void validate_withoutArguments() {
+        ValidationResult result = commandLine.validate();
+
+        assertTrue(result.isValid());
+        assertTrue(result.getParseResult().isEmpty());
+    }
+
+    @Test
+    public void validate_withEveryProblem() {
+        ValidationResult result = commandLine.validate(
+                "-dx",
+                "operand",
+                "--verbose",
+                "--name=\"value",
+                "--count=two",
+                "--unknown=value"
+        );
+
+        assertFalse(result.isValid());
+        List<Diagnostic> diagnostics = result.getDiagnostics();
+        assertEquals(5, diagnostics.size());
+        assertDiagnostic(Diagnostic.Kind.UNKNOWN_OPTION, 0, "x", diagnostics.get(0));
+        assertDiagnostic(Diagnostic.Kind.AMBIGUOUS_OPTION, 2, "verbose", diagnostics.get(1));
+        assertDiagnostic(Diagnostic.Kind.UNEVEN_QUOTES, 3, "\"", diagnostics.get(2));
+        assertDiagnostic(Diagnostic.Kind.INVALID_VALUE, 4, "two", diagnostics.get(3));
+        assertDiagnostic(Diagnostic.Kind.UNKNOWN_OPTION, 5, "unknown", diagnostics.get(4));
+        assertEquals(Diagnostic.Kind.INVALID_VALUE.getMessage(), diagnostics.get(3).getMessage());
+    }
+
+    @Test
+    public void validate_withPartiallyValidArguments() {
+        ValidationResult result = commandLine.validate("-d", "--count=two", "--name=valid", "-d");
+        Target target = new Target();
+
+        result.getParseResult().applyTo(target);
+
+        assertEquals(1, result.getDiagnostics().size());
+        assertEquals(Arrays.asList("debug", "name=valid"), target.calls);
+    }
+
+    @SuppressWarnings({"WeakerAccess", "unused"})
+    public static class Target {
+        final List<String> calls = new ArrayList<>();
+
+        @Argument(shortName = "d", longName = "debug")
+        public void debug() {
+            calls.add("debug");
+        }
+
+        @Argument(longName = "verbose-output")
+        public void verboseOutput() {
+            calls.add("verbose-output");
+        }
+
+        @Argument(longName = "verbose-errors")
+        public void verboseErrors() {
+            calls.add("verbose-errors");
+        }
+
+        @Argument(longName = "count")
+        public void count(Integer count) {
+            calls.add("count=" + count);
+        }
+
+        @Argument(longName = "name")
+        public void name(String name) {
+            calls.add("name=" + name);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.argument;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(JUnit4.class)
+public class ArgumentSourcesExpandTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static List<String> read(ArgumentSource source) {
+        List<String> arguments = new ArrayList<>();
+        try (ArgumentSource s = source) {
+            String argument;
+            while ((argument = s.next()) != null) {
+                arguments.add(argument);
+            }
+        }
+
+        return arguments;
+    }
+
+    private Path write(String content) throws IOException {
+        Path path = temporaryFolder.newFile().toPath();
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+
+        return path;
+    }
+
+    @Test
+    public void expandArgumentFiles() throws IOException {
+        Path first = write("-d --file=\"file name\"");
+        Path second = write("-v @nested");
+        List<String> expected = Arrays.asList("-q", "-d", "--file=file name", "-v", "@nested", "@", "-f");
+
+        List<String> actual = read(
+                ArgumentSources.expandArgumentFiles(
+                        ArgumentSources.of("-q", "@" + first, "@" + second, "@", "-f")
+                )
+        );
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void expandArgumentFiles_withEmptyFile() throws IOException {
+        Path path = write("");
+        List<String> expected = Arrays.asList("-d", "-v");
+
+        List<String> actual = read(
+                ArgumentSources.expandArgumentFiles(
+                        ArgumentSources.of("-d", "@" + path, "-v")
+                )
+        );
+
+        assertEquals(expected, actual);
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void expandArgumentFiles_withMissingFile() {
+        Path path = temporaryFolder.getRoot().toPath().resolve("missing");
+
+        read(ArgumentSources.expandArgumentFiles(ArgumentSources.of("@" + path)));
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void of_withUnevenQuotes() {
+        read(ArgumentSources.of(new StringReader("--file=\"name")));
+    }
+}
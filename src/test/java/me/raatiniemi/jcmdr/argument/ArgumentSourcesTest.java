@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.argument;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(Parameterized.class)
+public class ArgumentSourcesTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private String message;
+    private List<String> expected;
+    private String content;
+
+    public ArgumentSourcesTest(
+            String message,
+            String[] expected,
+            String content
+    ) {
+        this.message = message;
+        this.expected = Arrays.asList(expected);
+        this.content = content;
+    }
+
+    @Parameters
+    public static Collection<Object[]> parameters() {
+        return Arrays.asList(
+                new Object[][]{
+                        {
+                                "Without arguments",
+                                new String[]{},
+                                ""
+                        },
+                        {
+                                "With whitespace",
+                                new String[]{},
+                                " \t\r\n "
+                        },
+                        {
+                                "With argument",
+                                new String[]{"-d"},
+                                "-d"
+                        },
+                        {
+                                "With arguments on separate lines",
+                                new String[]{"-d", "--file=name", "operand"},
+                                "-d\n--file=name\r\n  operand\n"
+                        },
+                        {
+                                "With double quoted value",
+                                new String[]{"--file=file name"},
+                                "--file=\"file name\""
+                        },
+                        {
+                                "With single quoted value",
+                                new String[]{"--file=file \"name\""},
+                                "--file='file \"name\"'"
+                        },
+                        {
+                                "With escaped quote",
+                                new String[]{"--file=\"name\""},
+                                "--file=\"\\\"name\\\"\""
+                        },
+                        {
+                                "With comments",
+                                new String[]{"-d", "-v"},
+                                "# comment -q\n-d # comment -q\n-v"
+                        },
+                        {
+                                "With comment character within argument",
+                                new String[]{"--file=#name"},
+                                "--file=#name"
+                        },
+                        {
+                                "With non-ascii characters",
+                                new String[]{"--file=\u00e4\u00f6", "-\u00e5"},
+                                "--file=\u00e4\u00f6 -\u00e5"
+                        }
+                }
+        );
+    }
+
+    private static List<String> read(ArgumentSource source) {
+        List<String> arguments = new ArrayList<>();
+        try (ArgumentSource s = source) {
+            String argument;
+            while ((argument = s.next()) != null) {
+                arguments.add(argument);
+            }
+        }
+
+        return arguments;
+    }
+
+    @Test
+    public void of_reader() {
+        List<String> actual = read(ArgumentSources.of(new StringReader(content)));
+
+        assertEquals(message, expected, actual);
+    }
+
+    @Test
+    public void of_path() throws IOException {
+        Path path = temporaryFolder.newFile().toPath();
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+
+        List<String> actual = read(ArgumentSources.of(path));
+
+        assertEquals(message, expected, actual);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.argument;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(Parameterized.class)
+public class ArgumentTokenizerTest {
+    private String message;
+    private List<String> expected;
+    private String[] arguments;
+
+    public ArgumentTokenizerTest(
+            String message,
+            String[] expected,
+            String[] arguments
+    ) {
+        this.message = message;
+        this.expected = Arrays.asList(expected);
+        this.arguments = arguments;
+    }
+
+    @Parameters
+    public static Collection<Object[]> parameters() {
+        return Arrays.asList(
+                new Object[][]{
+                        {
+                                "Without arguments",
+                                new String[]{},
+                                new String[]{}
+                        },
+                        {
+                                "With null argument",
+                                new String[]{},
+                                new String[]{null}
+                        },
+                        {
+                                "Without prefix",
+                                new String[]{},
+                                new String[]{"debug", "-", "-=value"}
+                        },
+                        {
+                                "With short name",
+                                new String[]{"d"},
+                                new String[]{"-d"}
+                        },
+                        {
+                                "With short names (combined)",
+                                new String[]{"d", "v", "h"},
+                                new String[]{"-dvh"}
+                        },
+                        {
+                                "With short name and value",
+                                new String[]{"f=file"},
+                                new String[]{"-f=file"}
+                        },
+                        {
+                                "With short names (combined) and value",
+                                new String[]{"d", "f=file"},
+                                new String[]{"-df=file"}
+                        },
+                        {
+                                "With long name",
+                                new String[]{"debug"},
+                                new String[]{"--debug"}
+                        },
+                        {
+                                "With long name and value",
+                                new String[]{"file=a=b"},
+                                new String[]{"--file=a=b"}
+                        },
+                        {
+                                "With long name and empty value",
+                                new String[]{"file="},
+                                new String[]{"--file="}
+                        },
+                        {
+                                "With java option",
+                                new String[]{"debug"},
+                                new String[]{"-Ddebug"}
+                        },
+                        {
+                                "With java option and value",
+                                new String[]{"file=name"},
+                                new String[]{"-Dfile=name"}
+                        },
+                        {
+                                "With value containing space",
+                                new String[]{"file=file name", "d"},
+                                new String[]{"--file=file name", "-d"}
+                        },
+                        {
+                                "With mixed arguments",
+                                new String[]{"d", "v", "debug", "file=name"},
+                                new String[]{"-dv", "operand", "--debug", "-Dfile=name"}
+                        }
+                }
+        );
+    }
+
+    @Test
+    public void next() {
+        List<String> actual = new ArrayList<>();
+
+        ArgumentTokenizer tokenizer = new ArgumentTokenizer(arguments);
+        while (tokenizer.next()) {
+            actual.add(readToken(tokenizer));
+        }
+
+        assertEquals(message, expected, actual);
+    }
+
+    private static String readToken(ArgumentTokenizer tokenizer) {
+        String argument = tokenizer.argument();
+        String name = argument.substring(tokenizer.nameStart(), tokenizer.nameEnd());
+
+        if (!tokenizer.hasValue()) {
+            return name;
+        }
+
+        return name + "=" + argument.substring(tokenizer.valueStart(), tokenizer.valueEnd());
+    }
+}
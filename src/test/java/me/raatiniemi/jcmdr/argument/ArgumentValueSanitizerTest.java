@@ -21,7 +21,13 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 
+import static me.raatiniemi.jcmdr.argument.ArgumentValueSanitizer.indexOfUnevenQuote;
 import static me.raatiniemi.jcmdr.argument.ArgumentValueSanitizer.sanitize;
+import static me.raatiniemi.jcmdr.argument.ArgumentValueSanitizer.sanitizeView;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 @RunWith(JUnit4.class)
 public class ArgumentValueSanitizerTest {
@@ -52,4 +58,138 @@ public class ArgumentValueSanitizerTest {
 
         sanitize(argumentValue);
     }
+
+    @Test(expected = UnevenQuotesException.class)
+    public void sanitize_withOnlyQuote() {
+        String argumentValue = "\"";
+
+        sanitize(argumentValue);
+    }
+
+    @Test(expected = UnevenQuotesException.class)
+    public void sanitize_withMixedQuotes() {
+        String argumentValue = "'value\"";
+
+        sanitize(argumentValue);
+    }
+
+    @Test(expected = UnevenQuotesException.class)
+    public void sanitize_withEscapedClosingQuote() {
+        String argumentValue = "\"value\\\"";
+
+        sanitize(argumentValue);
+    }
+
+    @Test
+    public void sanitize_withUnevenQuotesOffset() {
+        String argument = "--file=value\"";
+
+        try {
+            sanitize(argument, 7, argument.length());
+            fail("Expected uneven quotes to throw");
+        } catch (UnevenQuotesException e) {
+            assertEquals(12, e.getOffset());
+        }
+    }
+
+    @Test
+    public void sanitize_withoutQuotes() {
+        String argumentValue = "value";
+
+        assertSame(argumentValue, sanitize(argumentValue));
+    }
+
+    @Test
+    public void sanitize_withEmptyValue() {
+        assertEquals("", sanitize(""));
+    }
+
+    @Test
+    public void sanitize_withBalancedDoubleQuotes() {
+        assertEquals("it's value", sanitize("\"it's value\""));
+    }
+
+    @Test
+    public void sanitize_withBalancedSingleQuotes() {
+        assertEquals("say \"value\"", sanitize("'say \"value\"'"));
+    }
+
+    @Test
+    public void sanitize_withEmptyBalancedQuotes() {
+        assertEquals("", sanitize("\"\""));
+    }
+
+    @Test
+    public void sanitize_withRegion() {
+        assertEquals("value", sanitize("--file='value'", 7, 14));
+    }
+
+    @Test
+    public void sanitize_withEscapedQuotes() {
+        assertEquals("say \"value\"", sanitize("\"say \\\"value\\\"\""));
+    }
+
+    @Test
+    public void sanitize_withEscapedQuoteAtEnd() {
+        assertEquals("value\"", sanitize("value\\\""));
+    }
+
+    @Test
+    public void sanitize_withEscapedBackslash() {
+        assertEquals("C:\\directory\\\\", sanitize("\"C:\\directory\\\\\""));
+    }
+
+    @Test
+    public void indexOfUnevenQuote_withBalancedQuotes() {
+        String argument = "--name=\"value\"";
+
+        assertEquals(-1, indexOfUnevenQuote(argument, 7, argument.length()));
+    }
+
+    @Test
+    public void indexOfUnevenQuote_withOnlyQuotesAtBeginning() {
+        String argument = "--name='value";
+
+        assertEquals(7, indexOfUnevenQuote(argument, 7, argument.length()));
+    }
+
+    @Test
+    public void indexOfUnevenQuote_withOnlyQuotesAtEnd() {
+        String argument = "--name=value\"";
+
+        assertEquals(12, indexOfUnevenQuote(argument, 7, argument.length()));
+    }
+
+    @Test
+    public void indexOfUnevenQuote_withEscapedQuoteAtEnd() {
+        String argument = "--name=value\\\"";
+
+        assertEquals(-1, indexOfUnevenQuote(argument, 7, argument.length()));
+    }
+
+    @Test
+    public void sanitizeView_withQuotes() {
+        String argument = "--name='value'";
+
+        CharSequence actual = sanitizeView(argument, 7, argument.length());
+
+        assertTrue(actual instanceof ArgumentValueView);
+        assertEquals("value", actual.toString());
+    }
+
+    @Test
+    public void sanitizeView_withEscapedQuotes() {
+        String argument = "--name='\\'value\\''";
+
+        CharSequence actual = sanitizeView(argument, 7, argument.length());
+
+        assertEquals("'value'", actual.toString());
+    }
+
+    @Test(expected = UnevenQuotesException.class)
+    public void sanitizeView_withUnevenQuotes() {
+        String argument = "--name='value";
+
+        sanitizeView(argument, 7, argument.length());
+    }
 }
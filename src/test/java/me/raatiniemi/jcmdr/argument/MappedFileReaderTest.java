@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.argument;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(JUnit4.class)
+public class MappedFileReaderTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static String read(Reader reader) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        try (Reader r = reader) {
+            char[] buffer = new char[5];
+            int read;
+            while ((read = r.read(buffer, 0, buffer.length)) > 0) {
+                builder.append(buffer, 0, read);
+            }
+        }
+
+        return builder.toString();
+    }
+
+    private Path write(byte[] content) throws IOException {
+        Path path = temporaryFolder.newFile().toPath();
+        Files.write(path, content);
+
+        return path;
+    }
+
+    @Test
+    public void read_withCharactersAcrossWindows() throws IOException {
+        String expected = "--file=\u00e4\u00f6\u00e5 -d \u20ac\u20ac";
+        Path path = write(expected.getBytes(StandardCharsets.UTF_8));
+
+        for (int windowSize = 1; windowSize < 8; windowSize++) {
+            String actual = read(new MappedFileReader(path, StandardCharsets.UTF_8, windowSize));
+
+            assertEquals("Window size " + windowSize, expected, actual);
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void read_withSingleCharacters() throws IOException {
+        String expected = "--emoji=\ud83d\ude00\ud83d\udc4d -d \u20ac";
+        Path path = write(expected.getBytes(StandardCharsets.UTF_8));
+
+        for (int windowSize = 1; windowSize < 8; windowSize++) {
+            StringBuilder actual = new StringBuilder();
+            try (Reader reader = new MappedFileReader(path, StandardCharsets.UTF_8, windowSize)) {
+                int c;
+                while ((c = reader.read()) >= 0) {
+                    actual.append((char) c);
+                }
+            }
+
+            assertEquals("Window size " + windowSize, expected, actual.toString());
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void read_withZeroLength() throws IOException {
+        Path path = write("-d".getBytes(StandardCharsets.UTF_8));
+
+        try (Reader reader = new MappedFileReader(path, StandardCharsets.UTF_8)) {
+            assertEquals(0, reader.read(new char[1], 0, 0));
+            assertEquals('-', reader.read());
+        }
+    }
+
+    @Test
+    public void read_withEmptyFile() throws IOException {
+        Path path = write(new byte[0]);
+
+        String actual = read(new MappedFileReader(path, StandardCharsets.UTF_8));
+
+        assertEquals("", actual);
+    }
+
+    @Test(expected = CharacterCodingException.class)
+    public void read_withMalformedInput() throws IOException {
+        Path path = write(new byte[]{'-', 'd', (byte) 0xc3});
+
+        read(new MappedFileReader(path, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.argument;
+
+import me.raatiniemi.jcmdr.scheme.BoundSchemeArgument;
+import me.raatiniemi.jcmdr.scheme.Scheme;
+import me.raatiniemi.jcmdr.scheme.SchemeArgument;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+@RunWith(JUnit4.class)
+public class ParseCacheTest {
+    private final AtomicInteger parseCount = new AtomicInteger();
+    private Scheme scheme;
+
+    private static Scheme buildScheme() {
+        SchemeArgument schemeArgument = BoundSchemeArgument.builder(Object.class)
+                .shortName("d")
+                .withoutValue(target -> {
+                })
+                .build();
+
+        return Scheme.of(Collections.singletonList(schemeArgument));
+    }
+
+    @Before
+    public void setUp() {
+        scheme = buildScheme();
+    }
+
+    private Supplier<ParseResult> parser(Scheme scheme, String... arguments) {
+        return () -> {
+            parseCount.incrementAndGet();
+            return ParseResult.of(new ArgumentParser(scheme, arguments).parse());
+        };
+    }
+
+    private ParseResult get(ParseCache cache, String... arguments) {
+        return cache.get(scheme, arguments, parser(scheme, arguments));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void withCapacity_withoutCapacity() {
+        ParseCache.withCapacity(0);
+    }
+
+    @Test
+    public void get() {
+        ParseCache cache = ParseCache.withCapacity(2);
+
+        ParseResult first = get(cache, "-d");
+        ParseResult second = get(cache, "-d");
+
+        assertSame(first, second);
+        assertEquals(1, first.size());
+        assertEquals(1, parseCount.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void get_withDifferentArguments() {
+        ParseCache cache = ParseCache.withCapacity(2);
+
+        ParseResult first = get(cache, "-d");
+        ParseResult second = get(cache, "-d", "operand");
+
+        assertNotSame(first, second);
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void get_withDifferentSchemes() {
+        ParseCache cache = ParseCache.withCapacity(2);
+        Scheme otherScheme = buildScheme();
+
+        ParseResult first = get(cache, "-d");
+        ParseResult second = cache.get(otherScheme, new String[]{"-d"}, parser(otherScheme, "-d"));
+
+        assertNotSame(first, second);
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void get_withModifiedArguments() {
+        ParseCache cache = ParseCache.withCapacity(2);
+        String[] arguments = {"-d"};
+
+        ParseResult first = get(cache, arguments);
+        arguments[0] = "operand";
+        ParseResult second = get(cache, "-d");
+
+        assertSame(first, second);
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void get_withoutArguments() {
+        ParseCache cache = ParseCache.withCapacity(2);
+
+        ParseResult first = get(cache, (String[]) null);
+        ParseResult second = get(cache);
+
+        assertSame(first, second);
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void get_evictLeastRecentlyUsed() {
+        ParseCache cache = ParseCache.withCapacity(2);
+        ParseResult first = get(cache, "-d", "first");
+        get(cache, "-d", "second");
+        get(cache, "-d", "first");
+
+        get(cache, "-d", "third");
+
+        assertSame(first, get(cache, "-d", "first"));
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(2, cache.size());
+        assertEquals(3, parseCount.get());
+
+        get(cache, "-d", "second");
+        assertEquals(4, parseCount.get());
+    }
+
+    @Test
+    public void clear() {
+        ParseCache cache = ParseCache.withCapacity(2);
+        get(cache, "-d");
+
+        cache.clear();
+
+        assertEquals(0, cache.size());
+        get(cache, "-d");
+        assertEquals(2, parseCount.get());
+    }
+
+    @Test
+    public void get_withConcurrentUse() throws Exception {
+        ParseCache cache = ParseCache.withCapacity(16);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<ParseResult>> futures = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < 1000; i++) {
+                String[] arguments = {"-d", Integer.toString(i % 32)};
+                futures.add(executor.submit(() -> get(cache, arguments)));
+            }
+            for (Future<ParseResult> future : futures) {
+                assertEquals(1, future.get().size());
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+
+        assertEquals(1000, cache.getHitCount() + cache.getMissCount());
+        assertEquals(16, cache.size());
+    }
+}
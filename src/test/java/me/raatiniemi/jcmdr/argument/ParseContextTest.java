@@ -0,0 +1,257 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.argument;
+
+import me.raatiniemi.jcmdr.CommandLine;
+import me.raatiniemi.jcmdr.argument.exception.UnevenQuotesException;
+import me.raatiniemi.jcmdr.scheme.Scheme;
+import me.raatiniemi.jcmdr.scheme.SchemeRegistry;
+import me.raatiniemi.jcmdr.scheme.annotation.Argument;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+@RunWith(JUnit4.class)
+public class ParseContextTest {
+    private static final int ITERATIONS = 20_000;
+    private static final int ROUNDS = 5;
+
+    private final Scheme scheme = SchemeRegistry.schemeFor(Target.class);
+
+    @Test
+    public void parse() {
+        ParseContext context = ParseContext.create();
+        Target target = new Target();
+
+        context.parse(scheme, "-d", "operand", "--name='first'", "-d", "--name=second", "--name='first'");
+        context.applyTo(target);
+
+        assertEquals(3, context.size());
+        assertEquals(Arrays.asList("debug", "name=first", "name=second"), target.calls);
+    }
+
+    @Test
+    public void parse_replacePreviousOptions() {
+        ParseContext context = ParseContext.create();
+        Target target = new Target();
+
+        context.parse(scheme, "--name=first", "-d");
+        context.parse(scheme, "--name=second");
+        context.applyTo(target);
+
+        assertEquals(Collections.singletonList("name=second"), target.calls);
+    }
+
+    @Test
+    public void parse_growBuffers() {
+        ParseContext context = ParseContext.create();
+        Target target = new Target();
+        String[] arguments = new String[100];
+        for (int i = 0; i < arguments.length; i++) {
+            arguments[i] = "--name=" + i;
+        }
+
+        context.parse(scheme, arguments);
+        context.applyTo(target);
+
+        assertEquals(arguments.length, context.size());
+        assertEquals("name=99", target.calls.get(99));
+    }
+
+    @Test(expected = UnevenQuotesException.class)
+    public void parse_withUnevenQuotes() {
+        ParseContext.create().parse(scheme, "--name='value");
+    }
+
+    @Test
+    public void clear() {
+        ParseContext context = ParseContext.create();
+        Target target = new Target();
+
+        context.parse(scheme, "-d");
+        context.clear();
+        context.applyTo(target);
+
+        assertTrue(context.isEmpty());
+        assertTrue(target.calls.isEmpty());
+    }
+
+    @Test
+    public void parse_withQuotedDuplicate() {
+        ParseContext context = ParseContext.create();
+
+        context.parse(scheme, "--name=value", "--name='value'", "--name=\"value\"");
+
+        assertEquals(1, context.size());
+    }
+
+    @Test
+    public void cursor() {
+        ParseContext context = ParseContext.create();
+
+        context.parse(scheme, "-d", "--name='value'");
+
+        assertSame(scheme.get(context.ordinal(0)), context.schemeArgument(0));
+        assertEquals("debug", context.schemeArgument(0).getLongName());
+        assertFalse(context.hasValue(0));
+        assertNull(context.argument(0));
+        assertEquals(-1, context.valueStart(0));
+        assertEquals(-1, context.valueEnd(0));
+        assertNull(context.value(0));
+
+        assertEquals("name", context.schemeArgument(1).getLongName());
+        assertTrue(context.hasValue(1));
+        assertEquals("--name='value'", context.argument(1));
+        assertEquals(7, context.valueStart(1));
+        assertEquals(14, context.valueEnd(1));
+        assertEquals("value", context.value(1));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void cursor_withIndexOutOfBounds() {
+        ParseContext context = ParseContext.create();
+
+        context.parse(scheme, "-d");
+
+        context.ordinal(1);
+    }
+
+    @Test
+    public void parsedArgument() {
+        ParseContext context = ParseContext.create();
+        Target target = new Target();
+
+        context.parse(scheme, "--name='value'");
+        ParsedArgument parsedArgument = context.parsedArgument(0);
+        context.parse(scheme, "-d");
+        parsedArgument.call(target);
+
+        assertEquals(Collections.singletonList("name=value"), target.calls);
+    }
+
+    @Test
+    public void accept() {
+        ParseContext context = ParseContext.create();
+        List<String> visited = new ArrayList<>();
+
+        context.parse(scheme, "--name=value", "-d");
+        context.accept((ordinal, schemeArgument, argument, valueStart, valueEnd) -> {
+            assertSame(scheme.get(ordinal), schemeArgument);
+            if (null == argument) {
+                visited.add(schemeArgument.getLongName());
+                return;
+            }
+
+            visited.add(schemeArgument.getLongName() + "=" + argument.substring(valueStart, valueEnd));
+        });
+
+        assertEquals(Arrays.asList("name=value", "debug"), visited);
+    }
+
+    @Test
+    public void forCurrentThread() {
+        assertSame(ParseContext.forCurrentThread(), ParseContext.forCurrentThread());
+    }
+
+    @Test
+    public void apply_withoutAllocating() {
+        java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threadMXBean;
+        assumeTrue(allocations.isThreadAllocatedMemorySupported());
+        allocations.setThreadAllocatedMemoryEnabled(true);
+
+        CommandLine<Counter> commandLine = CommandLine.compile(Counter.class);
+        ParseContext context = ParseContext.forCurrentThread();
+        Counter counter = new Counter();
+        String[] arguments = {"-dv", "--quiet", "operand", "-Ddebug", "--verbose"};
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            commandLine.apply(counter, context, arguments);
+        }
+
+        // Measure in rounds, since the runtime can allocate on the thread
+        // outside of the parsing, e.g. when the method is recompiled.
+        long allocated = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = allocations.getThreadAllocatedBytes(threadId);
+            long overhead = allocations.getThreadAllocatedBytes(threadId) - before;
+
+            before = allocations.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < ITERATIONS; i++) {
+                commandLine.apply(counter, context, arguments);
+            }
+            allocated = Math.min(allocated, allocations.getThreadAllocatedBytes(threadId) - before - overhead);
+        }
+
+        assertEquals(0, allocated);
+        assertEquals((1 + ROUNDS) * ITERATIONS, counter.debug);
+        assertEquals((1 + ROUNDS) * ITERATIONS, counter.verbose);
+        assertEquals((1 + ROUNDS) * ITERATIONS, counter.quiet);
+    }
+
+    @SuppressWarnings({"WeakerAccess", "unused"})
+    public static class Target {
+        final List<String> calls = new ArrayList<>();
+
+        @Argument(shortName = "d", longName = "debug")
+        public void debug() {
+            calls.add("debug");
+        }
+
+        @Argument(longName = "name")
+        public void name(String name) {
+            calls.add("name=" + name);
+        }
+    }
+
+    @SuppressWarnings({"WeakerAccess", "unused"})
+    public static class Counter {
+        int debug;
+        int verbose;
+        int quiet;
+
+        @Argument(shortName = "d", longName = "debug")
+        public void debug() {
+            debug++;
+        }
+
+        @Argument(shortName = "v", longName = "verbose")
+        public void verbose() {
+            verbose++;
+        }
+
+        @Argument(shortName = "q", longName = "quiet")
+        public void quiet() {
+            quiet++;
+        }
+    }
+}
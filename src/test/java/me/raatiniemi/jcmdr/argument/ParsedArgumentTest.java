@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.argument;
+
+import me.raatiniemi.jcmdr.listener.ParseListener;
+import me.raatiniemi.jcmdr.scheme.SchemeArgument;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(JUnit4.class)
+public class ParsedArgumentTest {
+    private final List<String> calls = new ArrayList<>();
+
+    /**
+     * Implementation outside of the library, i.e. only implementing the
+     * abstract methods of the interface.
+     */
+    private final ParsedArgument parsedArgument = new ParsedArgument() {
+        @Override
+        public <T> void call(T target) {
+            calls.add("call:" + target);
+        }
+    };
+
+    @Test
+    public void getSchemeArgument() {
+        assertNull(parsedArgument.getSchemeArgument());
+    }
+
+    @Test
+    public void call_withListener() {
+        List<String> events = new ArrayList<>();
+        ParseListener listener = new ParseListener() {
+            @Override
+            public void handlerInvoked(SchemeArgument schemeArgument, long durationNanos) {
+                events.add("handlerInvoked");
+            }
+        };
+
+        ParseResult.of(Collections.singletonList(parsedArgument)).applyTo("target", listener);
+
+        assertEquals(Collections.singletonList("call:target"), calls);
+        assertEquals(Collections.emptyList(), events);
+    }
+
+    @Test
+    public void applyToAsync() {
+        ParseResult.of(Collections.singletonList(parsedArgument))
+                .applyToAsync("target", Runnable::run)
+                .join();
+
+        assertEquals(Collections.singletonList("call:target"), calls);
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.command;
+
+import me.raatiniemi.jcmdr.command.exception.InvalidCommandException;
+import me.raatiniemi.jcmdr.command.exception.UnknownCommandException;
+import me.raatiniemi.jcmdr.scheme.annotation.Argument;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(JUnit4.class)
+public class CommandRouterTest {
+    private final CommandRouter router = CommandRouter.builder()
+            .command(
+                    Command.builder("commit")
+                            .alias("ci")
+                            .target(CommitCommand.class, CommitCommand::new)
+                            .build()
+            )
+            .command(
+                    Command.builder("remote")
+                            .target(RemoteCommand.class, RemoteCommand::new)
+                            .subcommand(
+                                    Command.builder("add")
+                                            .target(RemoteAddCommand.class, RemoteAddCommand::new)
+                                            .build()
+                            )
+                            .build()
+            )
+            .command(
+                    Command.builder("stash")
+                            .subcommand(
+                                    Command.builder("pop")
+                                            .target(CommitCommand.class, CommitCommand::new)
+                                            .build()
+                            )
+                            .build()
+            )
+            .build();
+
+    @Test
+    public void route() {
+        CommitCommand actual = (CommitCommand) router.route("commit", "-a", "--message=initial");
+
+        assertEquals(Arrays.asList("all", "message=initial"), actual.actualCallStack);
+    }
+
+    @Test
+    public void route_withAlias() {
+        CommitCommand actual = (CommitCommand) router.route("ci", "-a");
+
+        assertEquals(Arrays.asList("all"), actual.actualCallStack);
+    }
+
+    @Test
+    public void route_withSubcommand() {
+        RemoteAddCommand actual = (RemoteAddCommand) router.route("remote", "add", "--name=origin");
+
+        assertEquals(Arrays.asList("name=origin"), actual.actualCallStack);
+    }
+
+    @Test
+    public void route_withParentCommand() {
+        RemoteCommand actual = (RemoteCommand) router.route("remote", "-v");
+
+        assertTrue(actual.verbose);
+    }
+
+    @Test
+    public void route_withOperandAfterCommand() {
+        RemoteCommand actual = (RemoteCommand) router.route("remote", "list", "-v");
+
+        assertTrue(actual.verbose);
+    }
+
+    @Test
+    public void route_withOptionBeforeSubcommand() {
+        Object actual = router.route("remote", "-v", "add");
+
+        assertTrue(actual instanceof RemoteCommand);
+    }
+
+    @Test
+    public void resolve() {
+        Command actual = router.resolve("remote", "add", "--name=origin");
+
+        assertEquals("add", actual.getName());
+    }
+
+    @Test(expected = UnknownCommandException.class)
+    public void route_withUnknownCommand() {
+        router.route("push");
+    }
+
+    @Test(expected = UnknownCommandException.class)
+    public void route_withoutArguments() {
+        router.route();
+    }
+
+    @Test(expected = UnknownCommandException.class)
+    public void route_withoutSubcommand() {
+        router.route("stash");
+    }
+
+    @Test(expected = InvalidCommandException.class)
+    public void build_withDuplicateName() {
+        CommandRouter.builder()
+                .command(Command.builder("commit").target(CommitCommand.class, CommitCommand::new).build())
+                .command(Command.builder("ci").alias("commit").target(CommitCommand.class, CommitCommand::new).build())
+                .build();
+    }
+
+    @Test(expected = InvalidCommandException.class)
+    public void build_withoutTarget() {
+        Command.builder("commit").build();
+    }
+
+    @Test(expected = InvalidCommandException.class)
+    public void target_withoutTarget() {
+        Command.builder("commit").target(null, CommitCommand::new);
+    }
+
+    @Test(expected = InvalidCommandException.class)
+    public void target_withoutFactory() {
+        Command.builder("commit").target(CommitCommand.class, null);
+    }
+
+    @Test(expected = InvalidCommandException.class)
+    public void builder_withPrefixedName() {
+        Command.builder("--commit");
+    }
+
+    @Test(expected = InvalidCommandException.class)
+    public void builder_withWhitespaceInName() {
+        Command.builder("remote add");
+    }
+
+    @SuppressWarnings({"WeakerAccess", "unused"})
+    public static class CommitCommand {
+        List<String> actualCallStack = new ArrayList<>();
+
+        @Argument(shortName = "a", longName = "all")
+        public void all() {
+            actualCallStack.add("all");
+        }
+
+        @Argument(shortName = "m", longName = "message")
+        public void message(String message) {
+            actualCallStack.add("message=" + message);
+        }
+    }
+
+    @SuppressWarnings({"WeakerAccess", "unused"})
+    public static class RemoteCommand {
+        boolean verbose;
+
+        @Argument(shortName = "v", longName = "verbose")
+        public void verbose() {
+            verbose = true;
+        }
+    }
+
+    @SuppressWarnings({"WeakerAccess", "unused"})
+    public static class RemoteAddCommand {
+        List<String> actualCallStack = new ArrayList<>();
+
+        @Argument(longName = "name")
+        public void name(String name) {
+            actualCallStack.add("name=" + name);
+        }
+    }
+}
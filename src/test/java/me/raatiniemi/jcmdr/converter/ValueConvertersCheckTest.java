@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.converter;
+
+import me.raatiniemi.jcmdr.exception.InvalidArgumentValueException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(Parameterized.class)
+public class ValueConvertersCheckTest {
+    private String message;
+    private boolean expected;
+    private Class<?> type;
+    private String argumentValue;
+
+    public ValueConvertersCheckTest(
+            String message,
+            boolean expected,
+            Class<?> type,
+            String argumentValue
+    ) {
+        this.message = message;
+        this.expected = expected;
+        this.type = type;
+        this.argumentValue = argumentValue;
+    }
+
+    @Parameters
+    public static Collection<Object[]> parameters() {
+        return Arrays.asList(
+                new Object[][]{
+                        {"String", true, String.class, "value"},
+                        {"int", true, int.class, "42"},
+                        {"int with sign", true, int.class, "+42"},
+                        {"int minimum", true, int.class, "-2147483648"},
+                        {"int overflow", false, int.class, "2147483648"},
+                        {"int with letters", false, Integer.class, "4x"},
+                        {"int without digits", false, int.class, "-"},
+                        {"int empty", false, int.class, ""},
+                        {"long maximum", true, long.class, "9223372036854775807"},
+                        {"long overflow", false, Long.class, "9223372036854775808"},
+                        {"double", true, double.class, "4.2"},
+                        {"double with exponent", true, double.class, "-1.5e-10"},
+                        {"double with fraction only", true, double.class, ".5"},
+                        {"double with suffix", true, Double.class, "4.2f"},
+                        {"double with whitespace", true, double.class, " 4.2 "},
+                        {"double NaN", true, double.class, "NaN"},
+                        {"double hexadecimal", true, double.class, "0x1p3"},
+                        {"double without exponent digits", false, double.class, "1e"},
+                        {"double without digits", false, double.class, "."},
+                        {"double with letters", false, double.class, "4.2x"},
+                        {"boolean", true, boolean.class, "TRUE"},
+                        {"boolean invalid", false, Boolean.class, "yes"},
+                        {"Enum", true, Level.class, "HIGH"},
+                        {"Enum with case", false, Level.class, "high"},
+                        {"Path", true, Path.class, "configuration.json"},
+                        {"Path with nul", false, Path.class, "a\u0000b"},
+                        {"Duration", true, Duration.class, "PT30S"},
+                        {"Duration with days", true, Duration.class, "-P1DT2.5S"},
+                        {"Duration invalid", false, Duration.class, "30s"}
+                }
+        );
+    }
+
+    private boolean convert() throws Throwable {
+        MethodHandle conversion = ValueConverters.find(type)
+                .asType(MethodType.methodType(Object.class, String.class));
+        try {
+            conversion.invoke(argumentValue);
+            return true;
+        } catch (InvalidArgumentValueException e) {
+            return false;
+        }
+    }
+
+    @Test
+    public void findCheck() throws Throwable {
+        Predicate<String> check = ValueConverters.findCheck(type);
+
+        assertEquals(message, expected, check.test(argumentValue));
+        assertEquals(message, expected, convert());
+    }
+
+    private enum Level {
+        LOW,
+        HIGH
+    }
+}
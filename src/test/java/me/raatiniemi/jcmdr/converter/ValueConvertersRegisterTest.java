@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.converter;
+
+import me.raatiniemi.jcmdr.exception.InvalidArgumentValueException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.lang.invoke.MethodHandle;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(JUnit4.class)
+public class ValueConvertersRegisterTest {
+    @Test
+    public void register() throws Throwable {
+        ValueConverters.register(new VersionConverter());
+
+        MethodHandle conversion = ValueConverters.find(Version.class);
+        Version actual = (Version) conversion.invoke("1.2");
+
+        assertEquals(1, actual.major);
+        assertEquals(2, actual.minor);
+    }
+
+    @Test(expected = InvalidArgumentValueException.class)
+    public void register_withInvalidArgumentValue() throws Throwable {
+        ValueConverters.register(new VersionConverter());
+
+        MethodHandle conversion = ValueConverters.find(Version.class);
+        conversion.invoke("latest");
+    }
+
+    private static class Version {
+        private final int major;
+        private final int minor;
+
+        private Version(int major, int minor) {
+            this.major = major;
+            this.minor = minor;
+        }
+    }
+
+    private static class VersionConverter implements ValueConverter<Version> {
+        @Override
+        public Class<Version> getType() {
+            return Version.class;
+        }
+
+        @Override
+        public Version convert(String argumentValue) {
+            String[] segments = argumentValue.split("\\.", 2);
+
+            return new Version(Integer.parseInt(segments[0]), Integer.parseInt(segments[1]));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.converter;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+
+import static java.util.Objects.isNull;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(Parameterized.class)
+public class ValueConvertersTest {
+    private String message;
+    private Object expected;
+    private Class<?> type;
+    private String argumentValue;
+
+    public ValueConvertersTest(
+            String message,
+            Object expected,
+            Class<?> type,
+            String argumentValue
+    ) {
+        this.message = message;
+        this.expected = expected;
+        this.type = type;
+        this.argumentValue = argumentValue;
+    }
+
+    @Parameters
+    public static Collection<Object[]> parameters() {
+        return Arrays.asList(
+                new Object[][]{
+                        {"String", "value", String.class, "value"},
+                        {"int", 42, int.class, "42"},
+                        {"Integer", 42, Integer.class, "42"},
+                        {"long", 42L, long.class, "42"},
+                        {"Long", 42L, Long.class, "42"},
+                        {"double", 4.2D, double.class, "4.2"},
+                        {"Double", 4.2D, Double.class, "4.2"},
+                        {"boolean", Boolean.TRUE, boolean.class, "true"},
+                        {"Boolean", Boolean.FALSE, Boolean.class, "FALSE"},
+                        {"Enum", Level.HIGH, Level.class, "HIGH"},
+                        {"Path", Paths.get("configuration.json"), java.nio.file.Path.class, "configuration.json"},
+                        {"Duration", Duration.ofSeconds(30), Duration.class, "PT30S"},
+                        {"CharSequence", "value", CharSequence.class, "value"},
+                        {"Unsupported type", null, Object.class, "value"}
+                }
+        );
+    }
+
+    @Test
+    public void find() throws Throwable {
+        MethodHandle conversion = ValueConverters.find(type);
+        if (isNull(expected)) {
+            assertNull(message, conversion);
+            return;
+        }
+
+        Object actual = conversion.asType(MethodType.methodType(Object.class, String.class))
+                .invoke(argumentValue);
+
+        assertEquals(message, expected, actual);
+    }
+
+    private enum Level {
+        LOW,
+        HIGH
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.exception;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(JUnit4.class)
+public class InvalidArgumentValueExceptionTest {
+    @Test
+    public void unableToConvert() {
+        InvalidArgumentValueException e = InvalidArgumentValueException.unableToConvert("4x", int.class, null);
+
+        assertEquals("Unable to convert '4x' to int", e.getMessage());
+        assertEquals(0, e.getStackTrace().length);
+    }
+
+    @Test
+    public void unableToConvert_withLongValue() {
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            value.append('x');
+        }
+
+        InvalidArgumentValueException e = InvalidArgumentValueException.unableToConvert(value, int.class, null);
+
+        assertTrue(e.getMessage().length() < 100);
+        assertTrue(e.getMessage().contains("xxx...' to int"));
+    }
+}
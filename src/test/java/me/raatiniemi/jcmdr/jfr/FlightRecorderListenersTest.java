@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import me.raatiniemi.jcmdr.CommandLine;
+import me.raatiniemi.jcmdr.listener.ParseListener;
+import me.raatiniemi.jcmdr.scheme.SchemeRegistry;
+import me.raatiniemi.jcmdr.scheme.annotation.Argument;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assume.assumeTrue;
+
+@RunWith(JUnit4.class)
+public class FlightRecorderListenersTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Before
+    public void setUp() {
+        assumeTrue(FlightRecorderListeners.isAvailable());
+
+        SchemeRegistry.invalidate(RecordedTarget.class);
+    }
+
+    private static Configuration readSettings() throws Exception {
+        try (Reader reader = new InputStreamReader(
+                FlightRecorderListeners.class.getResourceAsStream(FlightRecorderListeners.SETTINGS),
+                StandardCharsets.UTF_8
+        )) {
+            return Configuration.create(reader);
+        }
+    }
+
+    @Test
+    public void create() {
+        ParseListener listener = FlightRecorderListeners.create();
+
+        assertNotSame(ParseListener.NONE, listener);
+    }
+
+    @Test
+    public void create_withRecording() throws Exception {
+        Path destination = temporaryFolder.newFile("recording.jfr").toPath();
+
+        try (Recording recording = new Recording(readSettings())) {
+            recording.start();
+
+            CommandLine.builder(RecordedTarget.class)
+                    .listener(FlightRecorderListeners.create())
+                    .build()
+                    .apply(new RecordedTarget(), "-d", "--unknown");
+
+            recording.stop();
+            recording.dump(destination);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(destination)
+                .stream()
+                .filter(event -> event.getEventType().getName().startsWith("me.raatiniemi.jcmdr."))
+                .collect(Collectors.toList());
+        assertEquals(3, events.size());
+
+        RecordedEvent schemeCompile = findEvent(events, SchemeCompileEvent.NAME);
+        assertEquals(RecordedTarget.class.getName(), schemeCompile.getString("targetClass"));
+        assertEquals(1, schemeCompile.getInt("methodCount"));
+
+        RecordedEvent parse = findEvent(events, ParseEvent.NAME);
+        assertEquals(2, parse.getInt("tokenCount"));
+        assertEquals(1, parse.getInt("matchCount"));
+        assertEquals(1, parse.getInt("missCount"));
+
+        RecordedEvent handlerInvocation = findEvent(events, HandlerInvocationEvent.NAME);
+        assertEquals("d", handlerInvocation.getString("option"));
+    }
+
+    private static RecordedEvent findEvent(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> name.equals(event.getEventType().getName()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Missing event " + name));
+    }
+
+    @SuppressWarnings({"WeakerAccess", "unused"})
+    public static class RecordedTarget {
+        @Argument(shortName = "d")
+        public void debug() {
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.jmx;
+
+import me.raatiniemi.jcmdr.CommandLine;
+import me.raatiniemi.jcmdr.argument.exception.UnevenQuotesException;
+import me.raatiniemi.jcmdr.exception.InvokeArgumentException;
+import me.raatiniemi.jcmdr.scheme.SchemeRegistry;
+import me.raatiniemi.jcmdr.scheme.annotation.Argument;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(JUnit4.class)
+public class SchemeStatisticsTest {
+    private SchemeStatistics statistics;
+    private CommandLine<StatisticsTarget> commandLine;
+
+    @Before
+    public void setUp() {
+        statistics = SchemeStatistics.register(StatisticsTarget.class);
+        statistics.reset();
+
+        commandLine = CommandLine.builder(StatisticsTarget.class)
+                .listener(statistics)
+                .build();
+    }
+
+    @After
+    public void tearDown() {
+        SchemeStatistics.unregister(StatisticsTarget.class);
+    }
+
+    private static ObjectName getObjectName() throws Exception {
+        return new ObjectName(
+                "me.raatiniemi.jcmdr:type=Scheme,name=" + ObjectName.quote(StatisticsTarget.class.getName())
+        );
+    }
+
+    @Test
+    public void register() throws Exception {
+        assertSame(statistics, SchemeStatistics.register(StatisticsTarget.class));
+        assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(getObjectName()));
+    }
+
+    @Test
+    public void unregister() throws Exception {
+        SchemeStatistics.unregister(StatisticsTarget.class);
+
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(getObjectName()));
+    }
+
+    @Test
+    public void getMatchCounts() {
+        commandLine.apply(new StatisticsTarget(), "-d", "--name=first", "--unknown", "-x");
+        commandLine.apply(new StatisticsTarget(), "-d");
+
+        Map<String, Long> expected = new LinkedHashMap<>();
+        expected.put("d", 2L);
+        expected.put("fail", 0L);
+        expected.put("name", 1L);
+        assertEquals(expected, statistics.getMatchCounts());
+        assertEquals(2, statistics.getUnmatchedCount());
+        assertEquals(3, statistics.getHandlerTimeNanos().size());
+        assertTrue(statistics.getTotalHandlerTimeNanos() > 0);
+    }
+
+    @Test
+    public void getMatchCounts_withInvalidatedScheme() {
+        commandLine.apply(new StatisticsTarget(), "-d");
+        SchemeRegistry.invalidate(StatisticsTarget.class);
+
+        CommandLine.builder(StatisticsTarget.class)
+                .listener(SchemeStatistics.register(StatisticsTarget.class))
+                .build()
+                .apply(new StatisticsTarget(), "-d", "--name=first");
+
+        assertEquals(Long.valueOf(2), statistics.getMatchCounts().get("d"));
+        assertEquals(Long.valueOf(1), statistics.getMatchCounts().get("name"));
+    }
+
+    @Test
+    public void getSanitizerFailureCount() {
+        try {
+            commandLine.apply(new StatisticsTarget(), "--name=\"first");
+            fail("Expected uneven quotes");
+        } catch (UnevenQuotesException e) {
+            assertEquals(1, statistics.getSanitizerFailureCount());
+        }
+    }
+
+    @Test
+    public void getInvokeFailureCount() {
+        try {
+            commandLine.apply(new StatisticsTarget(), "--fail");
+            fail("Expected failing handler");
+        } catch (InvokeArgumentException e) {
+            assertEquals(1, statistics.getInvokeFailureCount());
+        }
+    }
+
+    @Test
+    public void getAttribute() throws Exception {
+        commandLine.apply(new StatisticsTarget(), "--unknown");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        assertEquals(1L, server.getAttribute(getObjectName(), "UnmatchedCount"));
+        assertEquals(StatisticsTarget.class.getName(), server.getAttribute(getObjectName(), "TargetClass"));
+    }
+
+    @SuppressWarnings({"WeakerAccess", "unused"})
+    public static class StatisticsTarget {
+        @Argument(shortName = "d")
+        public void debug() {
+        }
+
+        @Argument(longName = "fail")
+        public void fail() {
+            throw new IllegalStateException("failed");
+        }
+
+        @Argument(longName = "name")
+        public void name(String name) {
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.listener;
+
+import me.raatiniemi.jcmdr.CommandLine;
+import me.raatiniemi.jcmdr.argument.ArgumentSources;
+import me.raatiniemi.jcmdr.argument.ParseCache;
+import me.raatiniemi.jcmdr.argument.ParseResult;
+import me.raatiniemi.jcmdr.scheme.Scheme;
+import me.raatiniemi.jcmdr.scheme.SchemeArgument;
+import me.raatiniemi.jcmdr.scheme.SchemeRegistry;
+import me.raatiniemi.jcmdr.scheme.annotation.Argument;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(JUnit4.class)
+public class ParseListenerTest {
+    private final RecordingListener listener = new RecordingListener();
+
+    @Before
+    public void setUp() {
+        SchemeRegistry.invalidate(ListenerTarget.class);
+    }
+
+    private CommandLine<ListenerTarget> build() {
+        return CommandLine.builder(ListenerTarget.class)
+                .listener(listener)
+                .build();
+    }
+
+    @Test
+    public void schemeCompiled() {
+        build();
+        build();
+
+        assertEquals(Collections.singletonList("schemeCompiled:ListenerTarget"), listener.events);
+    }
+
+    @Test
+    public void apply() {
+        CommandLine<ListenerTarget> commandLine = build();
+        listener.events.clear();
+
+        ListenerTarget target = new ListenerTarget();
+        commandLine.apply(target, "-d", "--unknown", "--count=42");
+
+        List<String> expected = Arrays.asList(
+                "tokenRecognised:d",
+                "tokenUnmatched:unknown",
+                "tokenRecognised:count",
+                "valueConverted:count",
+                "handlerInvoked:d",
+                "handlerInvoked:count"
+        );
+        assertEquals(expected, listener.events);
+        assertEquals(Arrays.asList("debug", "count=42"), target.actualCallStack);
+        assertTrue(listener.durations.stream().allMatch(duration -> duration >= 0));
+    }
+
+    @Test
+    public void apply_withParseCache() {
+        ParseCache parseCache = ParseCache.withCapacity(1);
+        CommandLine<ListenerTarget> commandLine = CommandLine.builder(ListenerTarget.class)
+                .listener(listener)
+                .parseCache(parseCache)
+                .build();
+        commandLine.apply(new ListenerTarget(), "-d");
+        listener.events.clear();
+
+        commandLine.apply(new ListenerTarget(), "-d");
+
+        assertEquals(Arrays.asList("tokenRecognised:d", "handlerInvoked:d"), listener.events);
+        assertEquals(0, parseCache.getHitCount());
+    }
+
+    @Test
+    public void apply_withArgumentSource() {
+        CommandLine<ListenerTarget> commandLine = build();
+        listener.events.clear();
+
+        commandLine.apply(new ListenerTarget(), ArgumentSources.of("-d"));
+
+        assertEquals(Arrays.asList("tokenRecognised:d", "handlerInvoked:d"), listener.events);
+    }
+
+    @Test
+    public void applyTo() {
+        ParseResult parseResult = CommandLine.compile(ListenerTarget.class).parse("--count=1");
+
+        parseResult.applyTo(new ListenerTarget(), listener);
+
+        assertEquals(Collections.singletonList("handlerInvoked:count"), listener.events);
+    }
+
+    @Test
+    public void compose() {
+        RecordingListener other = new RecordingListener();
+        CommandLine<ListenerTarget> commandLine = CommandLine.builder(ListenerTarget.class)
+                .listener(ParseListener.compose(listener, ParseListener.NONE, other))
+                .build();
+
+        commandLine.apply(new ListenerTarget(), "-d");
+
+        List<String> expected = Arrays.asList(
+                "schemeCompiled:ListenerTarget",
+                "tokenRecognised:d",
+                "handlerInvoked:d"
+        );
+        assertEquals(expected, listener.events);
+        assertEquals(expected, other.events);
+    }
+
+    @Test
+    public void compose_withoutListeners() {
+        assertSame(ParseListener.NONE, ParseListener.compose());
+        assertSame(ParseListener.NONE, ParseListener.compose(ParseListener.NONE));
+        assertSame(listener, ParseListener.compose(ParseListener.NONE, listener));
+    }
+
+    @Test
+    public void none() {
+        ListenerTarget target = new ListenerTarget();
+
+        CommandLine.builder(ListenerTarget.class)
+                .listener(ParseListener.NONE)
+                .build()
+                .apply(target, "-d");
+
+        assertEquals(Collections.singletonList("debug"), target.actualCallStack);
+    }
+
+    private static final class RecordingListener implements ParseListener {
+        private final List<String> events = new ArrayList<>();
+        private final List<Long> durations = new ArrayList<>();
+
+        private static String name(SchemeArgument schemeArgument) {
+            String longName = schemeArgument.getLongName();
+
+            return null == longName ? schemeArgument.getShortName() : longName;
+        }
+
+        @Override
+        public void schemeCompiled(Class<?> target, Scheme scheme, long durationNanos) {
+            events.add("schemeCompiled:" + target.getSimpleName());
+            durations.add(durationNanos);
+        }
+
+        @Override
+        public void tokenRecognised(SchemeArgument schemeArgument, long durationNanos) {
+            events.add("tokenRecognised:" + name(schemeArgument));
+            durations.add(durationNanos);
+        }
+
+        @Override
+        public void tokenUnmatched(CharSequence argument, int nameStart, int nameEnd) {
+            events.add("tokenUnmatched:" + argument.subSequence(nameStart, nameEnd));
+        }
+
+        @Override
+        public void valueConverted(SchemeArgument schemeArgument, long durationNanos) {
+            events.add("valueConverted:" + name(schemeArgument));
+            durations.add(durationNanos);
+        }
+
+        @Override
+        public void handlerInvoked(SchemeArgument schemeArgument, long durationNanos) {
+            events.add("handlerInvoked:" + name(schemeArgument));
+            durations.add(durationNanos);
+        }
+    }
+
+    @SuppressWarnings({"WeakerAccess", "unused"})
+    public static class ListenerTarget {
+        List<String> actualCallStack = new ArrayList<>();
+
+        @Argument(shortName = "d")
+        public void debug() {
+            actualCallStack.add("debug");
+        }
+
+        @Argument(longName = "count")
+        public void count(int count) {
+            actualCallStack.add("count=" + count);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.processor;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(JUnit4.class)
+public class ArgumentProcessorTest {
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File output;
+    private DiagnosticCollector<JavaFileObject> diagnostics;
+
+    private static JavaFileObject source(String className, String content) {
+        return new SimpleJavaFileObject(
+                URI.create("string:///sample/" + className + ".java"),
+                JavaFileObject.Kind.SOURCE
+        ) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return content;
+            }
+        };
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        output = temporaryFolder.newFolder();
+        diagnostics = new DiagnosticCollector<>();
+    }
+
+    private boolean compile(JavaFileObject... sources) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+        List<String> arguments = new ArrayList<>(Arrays.asList(
+                "-classpath", System.getProperty("java.class.path"),
+                "-processor", ArgumentProcessor.class.getName(),
+                "-d", output.getPath(),
+                "-s", output.getPath()
+        ));
+
+        return compiler.getTask(null, null, diagnostics, arguments, null, Arrays.asList(sources))
+                .call();
+    }
+
+    private boolean isGenerated(String parserName) {
+        return new File(output, "sample/" + parserName + ".java").exists();
+    }
+
+    private String describeErrors() {
+        StringBuilder errors = new StringBuilder();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            errors.append(diagnostic).append('\n');
+        }
+
+        return errors.toString();
+    }
+
+    @Test
+    public void process() {
+        JavaFileObject source = source("Sample", "package sample;\n"
+                + "@me.raatiniemi.jcmdr.scheme.annotation.GenerateSchemeParser\n"
+                + "public class Sample {\n"
+                + "    @me.raatiniemi.jcmdr.scheme.annotation.Argument(longName = \"config\")\n"
+                + "    public void config(String path) {\n"
+                + "    }\n"
+                + "}\n");
+
+        assertTrue(describeErrors(), compile(source));
+        assertTrue(isGenerated("Sample_SchemeParser"));
+    }
+
+    @Test
+    public void process_withoutAnnotation() {
+        JavaFileObject source = source("Sample", "package sample;\n"
+                + "public class Sample {\n"
+                + "    @me.raatiniemi.jcmdr.scheme.annotation.Argument(longName = \"config\")\n"
+                + "    public void config(String path) {\n"
+                + "    }\n"
+                + "}\n");
+
+        assertTrue(describeErrors(), compile(source));
+        assertFalse(isGenerated("Sample_SchemeParser"));
+    }
+
+    @Test
+    public void process_withCheckedException() {
+        JavaFileObject source = source("Sample", "package sample;\n"
+                + "@me.raatiniemi.jcmdr.scheme.annotation.GenerateSchemeParser\n"
+                + "public class Sample {\n"
+                + "    @me.raatiniemi.jcmdr.scheme.annotation.Argument(longName = \"config\")\n"
+                + "    public void config(String path) throws java.io.IOException {\n"
+                + "    }\n"
+                + "    @me.raatiniemi.jcmdr.scheme.annotation.Argument(longName = \"debug\")\n"
+                + "    public void debug() {\n"
+                + "    }\n"
+                + "}\n");
+
+        assertTrue(describeErrors(), compile(source));
+        assertFalse(isGenerated("Sample_SchemeParser"));
+        assertEquals("", describeErrors());
+    }
+
+    @Test
+    public void process_withNestedClass() {
+        JavaFileObject source = source("Sample", "package sample;\n"
+                + "public class Sample {\n"
+                + "    @me.raatiniemi.jcmdr.scheme.annotation.GenerateSchemeParser\n"
+                + "    public static class Nested {\n"
+                + "        @me.raatiniemi.jcmdr.scheme.annotation.Argument(longName = \"debug\")\n"
+                + "        public void debug() {\n"
+                + "        }\n"
+                + "    }\n"
+                + "}\n");
+        JavaFileObject topLevelSource = source("Sample_Nested", "package sample;\n"
+                + "@me.raatiniemi.jcmdr.scheme.annotation.GenerateSchemeParser\n"
+                + "public class Sample_Nested {\n"
+                + "    @me.raatiniemi.jcmdr.scheme.annotation.Argument(longName = \"debug\")\n"
+                + "    public void debug() {\n"
+                + "    }\n"
+                + "}\n");
+
+        assertTrue(describeErrors(), compile(source, topLevelSource));
+        assertTrue(isGenerated("Sample$Nested_SchemeParser"));
+        assertTrue(isGenerated("Sample_Nested_SchemeParser"));
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.scheme;
+
+import me.raatiniemi.jcmdr.exception.InvokeArgumentException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.lang.reflect.InvocationTargetException;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(JUnit4.class)
+public class BoundSchemeArgumentTest {
+    private static void assertHandlerFailed(Class<?> expected, SchemeArgument schemeArgument, String argumentValue) {
+        try {
+            schemeArgument.call(new Object(), argumentValue);
+            fail("Expected InvokeArgumentException");
+        } catch (InvokeArgumentException e) {
+            assertTrue(e.getCause() instanceof InvocationTargetException);
+            assertTrue(expected.isInstance(e.getCause().getCause()));
+        }
+    }
+
+    @Test
+    public void call_withRuntimeException() {
+        SchemeArgument schemeArgument = BoundSchemeArgument.builder(Object.class)
+                .longName("debug")
+                .withoutValue(target -> {
+                    throw new IllegalStateException();
+                })
+                .build();
+
+        assertHandlerFailed(IllegalStateException.class, schemeArgument, null);
+    }
+
+    @Test
+    public void call_withError() {
+        SchemeArgument schemeArgument = BoundSchemeArgument.builder(Object.class)
+                .longName("file")
+                .withValue((target, value) -> {
+                    throw new AssertionError(value);
+                })
+                .build();
+
+        assertHandlerFailed(AssertionError.class, schemeArgument, "configuration.json");
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.scheme;
+
+import me.raatiniemi.jcmdr.scheme.exception.AmbiguousLongNameException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+@RunWith(JUnit4.class)
+public class LongNameTrieTest {
+    private final LongNameTrie trie = LongNameTrie.build(
+            Arrays.asList(
+                    SchemeArgumentBuilder.buildWithLongName("verbose"),
+                    SchemeArgumentBuilder.buildWithLongName("verbosity"),
+                    SchemeArgumentBuilder.buildWithLongName("version"),
+                    SchemeArgumentBuilder.buildWithShortName("v")
+            )
+    );
+
+    @Test
+    public void resolve() {
+        assertEquals("version", trie.resolve("--versi", 2, 7));
+    }
+
+    @Test
+    public void resolve_withUnknownAbbreviation() {
+        assertNull(trie.resolve("verx", 0, 4));
+    }
+
+    @Test
+    public void resolve_withAmbiguousAbbreviation() {
+        try {
+            trie.resolve("--verbo", 2, 7);
+        } catch (AmbiguousLongNameException e) {
+            assertEquals("verbo", e.getAbbreviation());
+            assertEquals(new HashSet<>(Arrays.asList("verbose", "verbosity")), e.getCandidates());
+            return;
+        }
+
+        throw new AssertionError("Expected ambiguous long name");
+    }
+
+    @Test
+    public void resolve_withAmbiguousAbbreviationOfAll() {
+        try {
+            trie.resolve("ve", 0, 2);
+        } catch (AmbiguousLongNameException e) {
+            assertEquals(Arrays.asList("verbose", "verbosity", "version"), Arrays.asList(e.getCandidates().toArray()));
+            return;
+        }
+
+        throw new AssertionError("Expected ambiguous long name");
+    }
+
+    @Test
+    public void build_withoutLongNames() {
+        LongNameTrie trie = LongNameTrie.build(Collections.emptyList());
+
+        assertNull(trie.resolve("debug", 0, 5));
+    }
+
+    @Test
+    public void withAbbreviations_isBuiltOnce() {
+        Scheme scheme = Scheme.of(Collections.singletonList(SchemeArgumentBuilder.buildWithLongName("debug")));
+
+        Scheme actual = scheme.withAbbreviations();
+
+        assertSame(actual, scheme.withAbbreviations());
+        assertSame(actual, actual.withAbbreviations());
+    }
+}
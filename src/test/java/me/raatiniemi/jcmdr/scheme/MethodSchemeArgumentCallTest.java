@@ -0,0 +1,242 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.scheme;
+
+import me.raatiniemi.jcmdr.exception.InvalidArgumentValueException;
+import me.raatiniemi.jcmdr.exception.InvokeArgumentException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(JUnit4.class)
+public class MethodSchemeArgumentCallTest {
+    private static SchemeArgument build(Class<?> target, String methodName, Class<?>... parameterTypes)
+            throws NoSuchMethodException {
+        Method method = target.getMethod(methodName, parameterTypes);
+
+        return SchemeArgumentBuilder.buildWithLongName("argument", method);
+    }
+
+    @Test
+    public void createFor_withAccessibleMethod() throws NoSuchMethodException {
+        Method method = AccessibleTarget.class.getMethod("debug");
+
+        assertTrue(MethodInvokerFactory.createFor(method, null) instanceof MethodHandleInvoker);
+    }
+
+    @Test
+    public void createFor_withInaccessibleMethod() throws NoSuchMethodException {
+        Method method = InaccessibleTarget.class.getMethod("debug");
+
+        assertTrue(MethodInvokerFactory.createFor(method, null) instanceof ReflectiveMethodInvoker);
+    }
+
+    @Test
+    public void call_withoutArgumentValue() throws NoSuchMethodException {
+        AccessibleTarget target = new AccessibleTarget();
+        SchemeArgument schemeArgument = build(AccessibleTarget.class, "debug");
+
+        schemeArgument.call(target, null);
+
+        assertEquals(Arrays.asList("debug"), target.actualCallStack);
+    }
+
+    @Test
+    public void call_withArgumentValue() throws NoSuchMethodException {
+        AccessibleTarget target = new AccessibleTarget();
+        SchemeArgument schemeArgument = build(AccessibleTarget.class, "file", String.class);
+
+        schemeArgument.call(target, "configuration.json");
+
+        assertEquals(Arrays.asList("file=configuration.json"), target.actualCallStack);
+    }
+
+    @Test
+    public void call_withInaccessibleMethod() throws NoSuchMethodException {
+        InaccessibleTarget target = new InaccessibleTarget();
+        SchemeArgument schemeArgument = build(InaccessibleTarget.class, "file", String.class);
+
+        schemeArgument.call(target, "configuration.json");
+
+        assertEquals(Arrays.asList("file=configuration.json"), target.actualCallStack);
+    }
+
+    @Test
+    public void call_withFailingMethod() throws NoSuchMethodException {
+        SchemeArgument schemeArgument = build(AccessibleTarget.class, "fail");
+
+        try {
+            schemeArgument.call(new AccessibleTarget(), null);
+            fail("Expected failing method to throw");
+        } catch (InvokeArgumentException e) {
+            assertTrue(e.getCause() instanceof InvocationTargetException);
+            assertTrue(e.getCause().getCause() instanceof UnsupportedOperationException);
+        }
+    }
+
+    @Test
+    public void call_withConvertedArgumentValues() throws NoSuchMethodException {
+        AccessibleTarget target = new AccessibleTarget();
+
+        build(AccessibleTarget.class, "count", int.class).call(target, "42");
+        build(AccessibleTarget.class, "level", Level.class).call(target, "HIGH");
+        build(AccessibleTarget.class, "path", Path.class).call(target, "configuration.json");
+
+        assertEquals(Arrays.asList("count=42", "level=HIGH", "path=configuration.json"), target.actualCallStack);
+    }
+
+    @Test
+    public void call_withConvertedArgumentValueOnInaccessibleMethod() throws NoSuchMethodException {
+        InaccessibleTarget target = new InaccessibleTarget();
+
+        build(InaccessibleTarget.class, "count", long.class).call(target, "42");
+
+        assertEquals(Arrays.asList("count=42"), target.actualCallStack);
+    }
+
+    @Test
+    public void callConverted() throws NoSuchMethodException {
+        AccessibleTarget target = new AccessibleTarget();
+        SchemeArgument schemeArgument = build(AccessibleTarget.class, "count", int.class);
+
+        Object convertedValue = schemeArgument.convert("42");
+        schemeArgument.callConverted(target, convertedValue);
+        schemeArgument.callConverted(target, convertedValue);
+
+        assertEquals(42, convertedValue);
+        assertEquals(Arrays.asList("count=42", "count=42"), target.actualCallStack);
+    }
+
+    @Test
+    public void callConverted_onInaccessibleMethod() throws NoSuchMethodException {
+        InaccessibleTarget target = new InaccessibleTarget();
+        SchemeArgument schemeArgument = build(InaccessibleTarget.class, "count", long.class);
+
+        schemeArgument.callConverted(target, schemeArgument.convert("42"));
+
+        assertEquals(Arrays.asList("count=42"), target.actualCallStack);
+    }
+
+    @Test(expected = InvalidArgumentValueException.class)
+    public void convert_withInvalidArgumentValue() throws NoSuchMethodException {
+        SchemeArgument schemeArgument = build(AccessibleTarget.class, "count", int.class);
+
+        schemeArgument.convert("many");
+    }
+
+    @Test(expected = InvalidArgumentValueException.class)
+    public void call_withInvalidArgumentValue() throws NoSuchMethodException {
+        SchemeArgument schemeArgument = build(AccessibleTarget.class, "count", int.class);
+
+        schemeArgument.call(new AccessibleTarget(), "many");
+    }
+
+    @Test(expected = InvalidArgumentValueException.class)
+    public void call_withInvalidArgumentValueOnInaccessibleMethod() throws NoSuchMethodException {
+        SchemeArgument schemeArgument = build(InaccessibleTarget.class, "count", long.class);
+
+        schemeArgument.call(new InaccessibleTarget(), "many");
+    }
+
+    @Test
+    public void validate_withConvertedArgumentValue() throws NoSuchMethodException {
+        SchemeArgument schemeArgument = build(AccessibleTarget.class, "count", int.class);
+
+        assertTrue(schemeArgument.validate("argument", String.class));
+        assertFalse(schemeArgument.validate("argument"));
+    }
+
+    @Test
+    public void validate_withoutConverter() throws NoSuchMethodException {
+        SchemeArgument schemeArgument = build(AccessibleTarget.class, "unsupported", Object.class);
+
+        assertFalse(schemeArgument.validate("argument", String.class));
+    }
+
+    @Test(expected = InvokeArgumentException.class)
+    public void call_withMissingArgumentValue() throws NoSuchMethodException {
+        SchemeArgument schemeArgument = build(AccessibleTarget.class, "file", String.class);
+
+        schemeArgument.call(new AccessibleTarget(), null);
+    }
+
+    @SuppressWarnings({"unused", "WeakerAccess"})
+    public static class AccessibleTarget {
+        List<String> actualCallStack = new ArrayList<>();
+
+        public void debug() {
+            actualCallStack.add("debug");
+        }
+
+        public void file(String filename) {
+            actualCallStack.add("file=" + filename);
+        }
+
+        public void fail() {
+            throw new UnsupportedOperationException();
+        }
+
+        public void count(int count) {
+            actualCallStack.add("count=" + count);
+        }
+
+        public void level(Level level) {
+            actualCallStack.add("level=" + level);
+        }
+
+        public void path(Path path) {
+            actualCallStack.add("path=" + path);
+        }
+
+        public void unsupported(Object value) {
+        }
+    }
+
+    public enum Level {
+        LOW,
+        HIGH
+    }
+
+    @SuppressWarnings({"unused", "WeakerAccess"})
+    private static class InaccessibleTarget {
+        List<String> actualCallStack = new ArrayList<>();
+
+        public void debug() {
+            actualCallStack.add("debug");
+        }
+
+        public void file(String filename) {
+            actualCallStack.add("file=" + filename);
+        }
+
+        public void count(long count) {
+            actualCallStack.add("count=" + count);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.scheme;
+
+import me.raatiniemi.jcmdr.scheme.exception.AmbiguousLongNameException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+@RunWith(Parameterized.class)
+public class SchemeAbbreviationTest {
+    private static final int AMBIGUOUS = -2;
+
+    private String message;
+    private int expected;
+    private Scheme scheme;
+    private String argument;
+    private boolean withValue;
+
+    public SchemeAbbreviationTest(
+            String message,
+            int expected,
+            String argument,
+            boolean withValue
+    ) throws NoSuchMethodException {
+        this.message = message;
+        this.expected = expected;
+        this.scheme = Scheme.of(
+                Arrays.asList(
+                        SchemeArgumentBuilder.build("d", "debug"),
+                        SchemeArgumentBuilder.build("v", "verbose"),
+                        SchemeArgumentBuilder.buildWithLongName("verbosity"),
+                        SchemeArgumentBuilder.build(
+                                "f",
+                                "file",
+                                SchemeArgumentImplTestReference.getMethodReference(
+                                        "methodWithArgument",
+                                        String.class
+                                )
+                        ),
+                        SchemeArgumentBuilder.buildWithLongName("verb")
+                )
+        ).withAbbreviations();
+        this.argument = argument;
+        this.withValue = withValue;
+    }
+
+    @Parameters
+    public static Collection<Object[]> parameters() {
+        return Arrays.asList(
+                new Object[][]{
+                        {"With exact long name", 0, "debug", false},
+                        {"With abbreviation", 0, "deb", false},
+                        {"With abbreviation in upper case", 0, "DEB", false},
+                        {"With exact long name that is a prefix", 4, "verb", false},
+                        {"With exact long name sharing prefix", 1, "verbose", false},
+                        {"With unique abbreviation sharing prefix", 2, "verbosi", false},
+                        {"With ambiguous abbreviation", AMBIGUOUS, "verbo", false},
+                        {"With ambiguous abbreviation of all", AMBIGUOUS, "ve", false},
+                        {"With abbreviation and value", 3, "fi", true},
+                        {"With abbreviation and unexpected value", -1, "de", true},
+                        {"With abbreviation and missing value", -1, "fi", false},
+                        {"With unknown abbreviation", -1, "xy", false},
+                        {"With argument longer than long name", -1, "debugger", false},
+                        {"With short name", 0, "d", false}
+                }
+        );
+    }
+
+    @Test
+    public void indexOf() {
+        try {
+            int actual = scheme.indexOf(argument, 0, argument.length(), withValue);
+
+            assertEquals(message, expected, actual);
+        } catch (AmbiguousLongNameException e) {
+            if (AMBIGUOUS != expected) {
+                fail(message + ": " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.scheme;
+
+import me.raatiniemi.jcmdr.scheme.annotation.Accumulation;
+import me.raatiniemi.jcmdr.scheme.annotation.Argument;
+import me.raatiniemi.jcmdr.scheme.annotation.GenerateSchemeParser;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(JUnit4.class)
+public class SchemeParserFactoryTest {
+    @Test
+    public void createFor_withGeneratedParser() {
+        SchemeParser parser = SchemeParserFactory.createFor(WithGeneratedParser.class);
+
+        assertFalse(parser instanceof ClassParser);
+    }
+
+    @Test
+    public void createFor_withoutGeneratedParser() {
+        SchemeParser parser = SchemeParserFactory.createFor(WithoutGeneratedParser.class);
+
+        assertTrue(parser instanceof ClassParser);
+    }
+
+    @Test
+    public void createFor_withParserForDifferentTarget() {
+        SchemeParser parser = SchemeParserFactory.createFor(WithStaleParser.class);
+
+        assertTrue(parser instanceof ClassParser);
+        assertEquals(WithStaleParser.class, parser.getTarget());
+    }
+
+    @Test
+    public void parse_withGeneratedParser() {
+        SchemeParser parser = SchemeParserFactory.createFor(WithGeneratedParser.class);
+
+        List<SchemeArgument> actual = parser.parse();
+
+        assertEquals(2, actual.size());
+        assertEquals("d", actual.get(0).getShortName());
+        assertEquals("debug", actual.get(0).getLongName());
+        assertEquals("file", actual.get(1).getLongName());
+    }
+
+    @Test
+    public void call_withGeneratedParser() {
+        List<SchemeArgument> schemeArguments = SchemeParserFactory.createFor(WithGeneratedParser.class).parse();
+        WithGeneratedParser target = new WithGeneratedParser();
+
+        schemeArguments.get(0).call(target, null);
+        schemeArguments.get(1).call(target, "configuration.json");
+
+        assertEquals(Arrays.asList("debug", "file=configuration.json"), target.actualCallStack);
+    }
+
+    @Test
+    public void parse_withIndependentArgument() {
+        List<SchemeArgument> generated = SchemeParserFactory.createFor(WithGeneratedParser.class).parse();
+        List<SchemeArgument> reflected = SchemeParserFactory.createFor(WithoutGeneratedParser.class).parse();
+
+        assertFalse(generated.get(0).isIndependent());
+        assertTrue(generated.get(1).isIndependent());
+        assertFalse(reflected.get(0).isIndependent());
+        assertTrue(reflected.get(1).isIndependent());
+    }
+
+    @Test
+    public void parse_withAccumulatedArgument() {
+        List<SchemeArgument> generated = SchemeParserFactory.createFor(WithGeneratedParser.class).parse();
+        List<SchemeArgument> reflected = SchemeParserFactory.createFor(WithoutGeneratedParser.class).parse();
+
+        assertEquals(Accumulation.DISTINCT, generated.get(0).getAccumulation());
+        assertEquals(Accumulation.LAST, generated.get(1).getAccumulation());
+        assertEquals(Accumulation.DISTINCT, reflected.get(0).getAccumulation());
+        assertEquals(Accumulation.LAST, reflected.get(1).getAccumulation());
+    }
+
+    @GenerateSchemeParser
+    @SuppressWarnings({"unused", "WeakerAccess"})
+    static class WithGeneratedParser {
+        List<String> actualCallStack = new ArrayList<>();
+
+        @Argument(shortName = "d", longName = "debug")
+        public void debug() {
+            actualCallStack.add("debug");
+        }
+
+        @Argument(longName = "file", independent = true, accumulation = Accumulation.LAST)
+        public void file(String filename) {
+            actualCallStack.add("file=" + filename);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    static class WithoutGeneratedParser {
+        @Argument(shortName = "d", longName = "debug")
+        public void debug() {
+        }
+
+        @Argument(longName = "file", independent = true, accumulation = Accumulation.LAST)
+        public void file(String filename) {
+        }
+    }
+
+    @SuppressWarnings("unused")
+    static class WithStaleParser {
+        @Argument(shortName = "d", longName = "debug")
+        public void debug() {
+        }
+    }
+
+    /**
+     * Parser with the name of a generated parser for {@link WithStaleParser},
+     * i.e. the same binary name, but for a different target.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final class WithStaleParser_SchemeParser implements SchemeParser {
+        @Override
+        public Class<?> getTarget() {
+            return WithGeneratedParser.class;
+        }
+
+        @Override
+        public List<SchemeArgument> parse() {
+            return new ArrayList<>();
+        }
+    }
+}
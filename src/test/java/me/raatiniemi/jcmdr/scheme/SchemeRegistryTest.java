@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.scheme;
+
+import me.raatiniemi.jcmdr.scheme.annotation.Argument;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(JUnit4.class)
+public class SchemeRegistryTest {
+    @Test
+    public void schemeFor() {
+        Scheme scheme = SchemeRegistry.schemeFor(WithShortNameOptions.class);
+
+        assertEquals(2, scheme.getArguments().size());
+    }
+
+    @Test
+    public void schemeFor_withoutScheme() {
+        Scheme scheme = SchemeRegistry.schemeFor(WithoutScheme.class);
+
+        assertTrue(scheme.isEmpty());
+    }
+
+    @Test
+    public void schemeFor_withCachedScheme() {
+        Scheme scheme = SchemeRegistry.schemeFor(WithShortNameOptions.class);
+
+        assertSame(scheme, SchemeRegistry.schemeFor(WithShortNameOptions.class));
+    }
+
+    @Test
+    public void invalidate() {
+        Scheme scheme = SchemeRegistry.schemeFor(WithShortNameOptions.class);
+
+        SchemeRegistry.invalidate(WithShortNameOptions.class);
+
+        Scheme actual = SchemeRegistry.schemeFor(WithShortNameOptions.class);
+        assertNotSame(scheme, actual);
+        assertEquals(scheme.getArguments(), actual.getArguments());
+    }
+
+    @Test
+    public void invalidateAll() {
+        Scheme scheme = SchemeRegistry.schemeFor(WithShortNameOptions.class);
+
+        SchemeRegistry.invalidateAll();
+
+        assertNotSame(scheme, SchemeRegistry.schemeFor(WithShortNameOptions.class));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void schemeFor_withImmutableArguments() {
+        Scheme scheme = SchemeRegistry.schemeFor(WithShortNameOptions.class);
+
+        scheme.getArguments().clear();
+    }
+
+    @SuppressWarnings("unused")
+    private class WithoutScheme {
+        public void unavailableMethod() {
+        }
+    }
+
+    @SuppressWarnings({"unused", "WeakerAccess"})
+    private class WithShortNameOptions {
+        @Argument(shortName = "d")
+        public void d() {
+        }
+
+        @Argument(shortName = "h")
+        public void h() {
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2018 Tobias Raatiniemi
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.jcmdr.scheme;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(Parameterized.class)
+public class SchemeTest {
+    private String message;
+    private int expected;
+    private Scheme scheme;
+    private String argument;
+    private boolean withValue;
+
+    public SchemeTest(
+            String message,
+            int expected,
+            SchemeArgument[] schemeArguments,
+            String argument,
+            boolean withValue
+    ) {
+        this.message = message;
+        this.expected = expected;
+        this.scheme = Scheme.of(Arrays.asList(schemeArguments));
+        this.argument = argument;
+        this.withValue = withValue;
+    }
+
+    @Parameters
+    public static Collection<Object[]> parameters() throws NoSuchMethodException {
+        SchemeArgument[] schemeArguments = new SchemeArgument[]{
+                SchemeArgumentBuilder.build("d", "debug"),
+                SchemeArgumentBuilder.build("v", "verbose"),
+                SchemeArgumentBuilder.build(
+                        "f",
+                        "file",
+                        SchemeArgumentImplTestReference.getMethodReference(
+                                "methodWithArgument",
+                                String.class
+                        )
+                ),
+                SchemeArgumentBuilder.buildWithShortName("\u00e4"),
+                SchemeArgumentBuilder.buildWithShortName("d"),
+                new SchemeArgument() {
+                    @Override
+                    public boolean validate(String argument, Class<?>... argumentValueTypes) {
+                        return ("q".equals(argument) || "quiet".equals(argument))
+                                && 0 == argumentValueTypes.length;
+                    }
+
+                    @Override
+                    public <T> void call(T target, String argumentValue) {
+                    }
+                }
+        };
+
+        return Arrays.asList(
+                new Object[][]{
+                        {
+                                "With empty argument",
+                                -1,
+                                schemeArguments,
+                                "",
+                                false
+                        },
+                        {
+                                "With short name",
+                                1,
+                                schemeArguments,
+                                "v",
+                                false
+                        },
+                        {
+                                "With short name (different case)",
+                                -1,
+                                schemeArguments,
+                                "V",
+                                false
+                        },
+                        {
+                                "With unicode short name",
+                                3,
+                                schemeArguments,
+                                "\u00e4",
+                                false
+                        },
+                        {
+                                "With duplicated short name",
+                                0,
+                                schemeArguments,
+                                "d",
+                                false
+                        },
+                        {
+                                "With long name",
+                                1,
+                                schemeArguments,
+                                "verbose",
+                                false
+                        },
+                        {
+                                "With long name (different case)",
+                                0,
+                                schemeArguments,
+                                "DeBuG",
+                                false
+                        },
+                        {
+                                "With unknown long name",
+                                -1,
+                                schemeArguments,
+                                "debugger",
+                                false
+                        },
+                        {
+                                "With value for argument without value",
+                                -1,
+                                schemeArguments,
+                                "debug",
+                                true
+                        },
+                        {
+                                "With value for argument with value",
+                                2,
+                                schemeArguments,
+                                "file",
+                                true
+                        },
+                        {
+                                "Without value for argument with value",
+                                -1,
+                                schemeArguments,
+                                "f",
+                                false
+                        },
+                        {
+                                "With short name for argument without names",
+                                5,
+                                schemeArguments,
+                                "q",
+                                false
+                        },
+                        {
+                                "With long name for argument without names",
+                                5,
+                                schemeArguments,
+                                "quiet",
+                                false
+                        },
+                        {
+                                "With value for argument without names",
+                                -1,
+                                schemeArguments,
+                                "quiet",
+                                true
+                        }
+                }
+        );
+    }
+
+    @Test
+    public void indexOf() {
+        int actual = scheme.indexOf(argument, 0, argument.length(), withValue);
+
+        assertEquals(message, expected, actual);
+    }
+
+    @Test
+    public void indexOf_withRegion() {
+        String region = "--" + argument + "=value";
+
+        int actual = scheme.indexOf(region, 2, 2 + argument.length(), withValue);
+
+        assertEquals(message, expected, actual);
+    }
+}